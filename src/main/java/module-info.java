@@ -3,6 +3,8 @@ module org.example.Trees {
     requires javafx.fxml;
     requires javafx.graphics;
     requires java.desktop;
+    // optional: the SIMD node search in IntBTree is used when the JVM runs with --add-modules jdk.incubator.vector
+    requires static jdk.incubator.vector;
 
 
     opens org.example.Trees to javafx.fxml;
@@ -3,7 +3,11 @@ package org.example.Trees;
 import javafx.scene.paint.Color;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * AVL Tree Implementation
@@ -17,13 +21,18 @@ import java.util.List;
  * 4. Automatically rebalances after insertions and deletions
  */
 public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    // subtrees at least this tall have their two halves combined in parallel
+    private static final int PARALLEL_HEIGHT = 12;
+    // batch inserts fork a task for parts of at least this many values
+    private static final int PARALLEL_BATCH = 1 << 12;
+
     private Node root;
     private int size;
 
     /**
      * Node class for AVL Tree
      */
-    private class Node implements TreeNode<T>, Serializable {
+    protected class Node implements TreeNode<T>, Serializable {
         //
         // Node Class Setup and Constructor
         //
@@ -77,6 +86,34 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
         this.size = 0;
     }
 
+    /**
+     * Bulk Load
+     * Builds a height-balanced AVL tree straight from values in strictly ascending order.
+     * The middle value of every range becomes the subtree root, so the tree is built in
+     * linear time without a single rotation.
+     */
+    public static <T extends Comparable<T>> AVLTree<T> fromSorted(List<T> sorted) {
+        List<T> values = SortedBatches.checkSorted(sorted);
+        AVLTree<T> tree = new AVLTree<>();
+        tree.root = tree.build(values, 0, values.size());
+        tree.size = values.size();
+        return tree;
+    }
+
+    // Builds the balanced subtree holding sorted[from, to)
+    private Node build(List<T> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = createNode(sorted.get(mid));
+        node.left = build(sorted, from, mid);
+        node.right = build(sorted, mid + 1, to);
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        update(node);
+        return node;
+    }
+
     //
     // AVL Tree Helper Methods
     //
@@ -110,7 +147,7 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
         // 1. Perform standard BST insertion
         if (node == null) {
             size++;
-            return new Node(value);
+            return createNode(value);
         }
 
         int cmp = value.compareTo(node.value);
@@ -129,6 +166,7 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
 
         // 2. Update height of this ancestor node
         node.height = 1 + Math.max(height(node.left), height(node.right));
+        update(node);
 
         // 3. Get the balance factor
         int balance = getBalance(node);
@@ -215,6 +253,7 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
 
         // 2. Update height of current node
         node.height = 1 + Math.max(height(node.left), height(node.right));
+        update(node);
 
         // 3. Get the balance factor
         int balance = getBalance(node);
@@ -332,6 +371,44 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
         return height(node.left) - height(node.right);
     }
 
+    //
+    // AVL Tree Augmentation Hooks
+    //
+
+    /**
+     * Every node is made here, so a subclass can hang extra per-node data off its own Node type
+     */
+    protected Node createNode(T value) {
+        return new Node(value);
+    }
+
+    /**
+     * Recomputes whatever a subclass keeps about node's subtree from node and its two children.
+     * Called right after every height update, so always bottom-up.
+     */
+    protected void update(Node node) {
+    }
+
+    protected Node rootNode() {
+        return root;
+    }
+
+    /**
+     * Every tree that split, join and the set methods return is made here, so the result
+     * is of the same kind as the tree it came from
+     */
+    protected AVLTree<T> newEmpty() {
+        return new AVLTree<>();
+    }
+
+    /**
+     * Whether other's nodes may be moved into a tree made by newEmpty: the trees must be of
+     * the same class, and a subclass adds whatever else its nodes depend on
+     */
+    protected boolean combinableWith(AVLTree<T> other) {
+        return getClass() == other.getClass();
+    }
+
     /*
     * Rotation Methods
     */
@@ -347,7 +424,9 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
 
         // Update heights
         y.height = Math.max(height(y.left), height(y.right)) + 1;
+        update(y);
         x.height = Math.max(height(x.left), height(x.right)) + 1;
+        update(x);
 
         // Return new root
         return x;
@@ -364,7 +443,9 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
 
         // Update heights
         x.height = Math.max(height(x.left), height(x.right)) + 1;
+        update(x);
         y.height = Math.max(height(y.left), height(y.right)) + 1;
+        update(y);
 
         // Return new root
         return y;
@@ -390,6 +471,410 @@ public class AVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
         return node;
     }
 
+    //
+    // AVL Tree Range Methods
+    //
+
+    /**
+     * Delete Range
+     * Removes every value in [lo, hi] in one pass. The tree is split around lo and hi,
+     * the middle piece is dropped whole, and the two outer pieces are joined back,
+     * so rebalancing only happens along the split paths instead of once per value.
+     * Returns the number of values removed.
+     */
+    public int deleteRange(T lo, T hi) {
+        // base case: empty tree, missing bounds or an empty range
+        if (root == null || lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return 0;
+        }
+
+        // cut off everything below lo, then everything above hi
+        Split below = split(root, lo);
+        Split above = split(below.greater, hi);
+
+        // what is left between the two cuts (plus the bounds themselves) gets dropped
+        int removed = countNodes(above.less);
+        if (below.match != null) {
+            removed++;
+        }
+        if (above.match != null) {
+            removed++;
+        }
+
+        // glue the outer pieces back together
+        root = join2(below.less, above.greater);
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Result of splitting a subtree around a key:
+     * the values smaller than the key, the node holding the key (if any), and the values greater
+     */
+    private class Split {
+        Node less;
+        Node match;
+        Node greater;
+
+        Split(Node less, Node match, Node greater) {
+            this.less = less;
+            this.match = match;
+            this.greater = greater;
+        }
+    }
+
+    // Splits the subtree into the values less than and greater than key, rejoining along the search path
+    private Split split(Node node, T key) {
+        // base case: empty subtree splits into two empty pieces
+        if (node == null) {
+            return new Split(null, null, null);
+        }
+
+        // detach the children, the node itself is reused as the join key on the way back up
+        Node left = node.left;
+        Node right = node.right;
+
+        int cmp = key.compareTo(node.value);
+        if (cmp == 0) {
+            node.left = null;
+            node.right = null;
+            node.height = 1;
+            update(node);
+            return new Split(left, node, right);
+        }
+
+        if (cmp < 0) {
+            // key is on the left, so this node and its right subtree belong to the greater side
+            Split result = split(left, key);
+            result.greater = join(result.greater, node, right);
+            return result;
+        }
+
+        // key is on the right, so this node and its left subtree belong to the less side
+        Split result = split(right, key);
+        result.less = join(left, node, result.less);
+        return result;
+    }
+
+    // Joins two AVL subtrees where every value in left < mid < every value in right
+    private Node join(Node left, Node mid, Node right) {
+        if (height(left) > height(right) + 1) {
+            return joinRight(left, mid, right);
+        }
+        if (height(right) > height(left) + 1) {
+            return joinLeft(left, mid, right);
+        }
+
+        // heights are close enough, mid simply becomes the new root
+        mid.left = left;
+        mid.right = right;
+        mid.height = 1 + Math.max(height(left), height(right));
+        update(mid);
+        return mid;
+    }
+
+    // Walks down the right spine of the taller left tree until the heights match, then rebalances on the way up
+    private Node joinRight(Node left, Node mid, Node right) {
+        if (height(left.right) <= height(right) + 1) {
+            mid.left = left.right;
+            mid.right = right;
+            mid.height = 1 + Math.max(height(mid.left), height(right));
+            update(mid);
+            left.right = mid;
+        } else {
+            left.right = joinRight(left.right, mid, right);
+        }
+        left.height = 1 + Math.max(height(left.left), height(left.right));
+        update(left);
+        return rebalance(left);
+    }
+
+    // Walks down the left spine of the taller right tree until the heights match, then rebalances on the way up
+    private Node joinLeft(Node left, Node mid, Node right) {
+        if (height(right.left) <= height(left) + 1) {
+            mid.left = left;
+            mid.right = right.left;
+            mid.height = 1 + Math.max(height(left), height(mid.right));
+            update(mid);
+            right.left = mid;
+        } else {
+            right.left = joinLeft(left, mid, right.left);
+        }
+        right.height = 1 + Math.max(height(right.left), height(right.right));
+        update(right);
+        return rebalance(right);
+    }
+
+    // Joins two AVL subtrees with no key in between by pulling the minimum out of the right one
+    private Node join2(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        Split rest = split(right, getMin(right).value);
+        return join(left, rest.match, rest.greater);
+    }
+
+    // Restores the balance of a node whose children are valid AVL trees differing in height by at most 2
+    private Node rebalance(Node node) {
+        int balance = getBalance(node);
+
+        // Left heavy: Left-Left or Left-Right case
+        if (balance > 1) {
+            if (getBalance(node.left) < 0) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        // Right heavy: Right-Right or Right-Left case
+        if (balance < -1) {
+            if (getBalance(node.right) > 0) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return 1 + countNodes(node.left) + countNodes(node.right);
+    }
+
+    //
+    // AVL Tree Join Based Set Methods
+    //
+
+    /**
+     * Join
+     * Builds one tree out of left, key and right, where every value in left is smaller than key
+     * and every value in right is larger. Takes time proportional to the difference in height.
+     * The nodes of left and right are moved into the result, so both are left empty.
+     */
+    public static <T extends Comparable<T>> AVLTree<T> join(AVLTree<T> left, T key, AVLTree<T> right) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        if (left == right) {
+            throw new IllegalArgumentException("Cannot join a tree with itself");
+        }
+        if ((left.root != null && left.getMax(left.root).value.compareTo(key) >= 0) ||
+            (right.root != null && right.getMin(right.root).value.compareTo(key) <= 0)) {
+            throw new IllegalArgumentException("Values in left must be smaller, and values in right larger, than the key");
+        }
+        checkCombinable(left, right);
+
+        AVLTree<T> result = left.newEmpty();
+        result.root = result.join(left.root, result.createNode(key), right.root);
+        result.size = left.size + 1 + right.size;
+        left.clear();
+        right.clear();
+        return result;
+    }
+
+    /**
+     * Split
+     * Splits this tree around key: this tree keeps every value smaller than key,
+     * and the returned tree gets every value greater than or equal to key.
+     * Takes O(log n) plus the size of the returned tree, which is counted on the way out.
+     */
+    public AVLTree<T> split(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot split on a null value");
+        }
+        Split parts = split(root, key);
+
+        AVLTree<T> greater = newEmpty();
+        greater.root = (parts.match == null) ? parts.greater : join(null, parts.match, parts.greater);
+        greater.size = countNodes(greater.root);
+
+        root = parts.less;
+        size -= greater.size;
+        return greater;
+    }
+
+    /**
+     * Union
+     * Returns a tree holding every value of a and b. Each level splits one tree around the
+     * other's root and recurses on both halves in parallel on the common ForkJoinPool,
+     * for O(m log(n/m + 1)) work with m <= n. The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> AVLTree<T> union(AVLTree<T> a, AVLTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        AVLTree<T> result = a.newEmpty();
+        result.root = result.union(a.root, b.root, shared);
+        result.size = a.size + b.size - shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    /**
+     * Intersection
+     * Returns a tree holding the values present in both a and b, built the same way as union.
+     * The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> AVLTree<T> intersection(AVLTree<T> a, AVLTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        AVLTree<T> result = a.newEmpty();
+        result.root = result.intersection(a.root, b.root, shared);
+        result.size = shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    /**
+     * Difference
+     * Returns a tree holding the values of a that are not in b, built the same way as union.
+     * The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> AVLTree<T> difference(AVLTree<T> a, AVLTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        AVLTree<T> result = a.newEmpty();
+        result.root = result.difference(a.root, b.root, shared);
+        result.size = a.size - shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    // Splits b around a's root, unions the matching halves and joins them back with a's root
+    private Node union(Node a, Node b, AtomicInteger shared) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        Node left = a.left;
+        Node right = a.right;
+        Split parts = split(b, a.value);
+        if (parts.match != null) {
+            shared.incrementAndGet();  // value is in both, a's node is kept
+        }
+        Split halves = inParallel(height(a) >= PARALLEL_HEIGHT,
+                () -> union(left, parts.less, shared),
+                () -> union(right, parts.greater, shared));
+        return join(halves.less, a, halves.greater);
+    }
+
+    // Splits b around a's root, keeps a's root only if b had it too
+    private Node intersection(Node a, Node b, AtomicInteger shared) {
+        if (a == null || b == null) {
+            return null;
+        }
+        Node left = a.left;
+        Node right = a.right;
+        Split parts = split(b, a.value);
+        Split halves = inParallel(height(a) >= PARALLEL_HEIGHT,
+                () -> intersection(left, parts.less, shared),
+                () -> intersection(right, parts.greater, shared));
+        if (parts.match != null) {
+            shared.incrementAndGet();
+            return join(halves.less, a, halves.greater);
+        }
+        return join2(halves.less, halves.greater);
+    }
+
+    // Splits a around b's root, drops the matching value and joins what is left of each half
+    private Node difference(Node a, Node b, AtomicInteger shared) {
+        if (a == null) {
+            return null;
+        }
+        if (b == null) {
+            return a;
+        }
+        Node left = b.left;
+        Node right = b.right;
+        Split parts = split(a, b.value);
+        if (parts.match != null) {
+            shared.incrementAndGet();
+        }
+        Split halves = inParallel(height(b) >= PARALLEL_HEIGHT,
+                () -> difference(parts.less, left, shared),
+                () -> difference(parts.greater, right, shared));
+        return join2(halves.less, halves.greater);
+    }
+
+    // Evaluates the two independent halves, forking the left one onto the pool when it is worth a task
+    private Split inParallel(boolean fork, Supplier<Node> left, Supplier<Node> right) {
+        if (!fork) {
+            return new Split(left.get(), null, right.get());
+        }
+        ForkJoinTask<Node> leftTask = ForkJoinTask.adapt(left::get).fork();
+        Node rightResult = right.get();
+        return new Split(leftTask.join(), null, rightResult);
+    }
+
+    // Set operations move nodes between the trees, so the same tree cannot be on both sides
+    private static void checkDistinct(AVLTree<?> a, AVLTree<?> b) {
+        if (a == b) {
+            throw new IllegalArgumentException("Cannot combine a tree with itself");
+        }
+    }
+
+    // Nodes keep whatever their own kind of tree hangs off them, so only the same kind can take them over
+    private static <T extends Comparable<T>> void checkCombinable(AVLTree<T> a, AVLTree<T> b) {
+        if (!a.combinableWith(b) || !b.combinableWith(a)) {
+            throw new IllegalArgumentException("Cannot combine trees of different kinds");
+        }
+    }
+
+    //
+    // AVL Tree Batch Methods
+    //
+
+    /**
+     * Insert All
+     * Inserts a whole batch of values in one pass, see SortedBatches. A part that reaches an
+     * empty spot is built as a balanced subtree, and rebalancing happens along the join paths
+     * instead of once per value.
+     */
+    public void insertAll(Collection<? extends T> values) {
+        List<T> batch = SortedBatches.sortedBatch(values);
+        AtomicInteger existing = new AtomicInteger();
+        root = insertAll(root, batch, 0, batch.size(), existing);
+        size += batch.size() - existing.get();
+    }
+
+    // Inserts sorted[from, to) into the subtree and returns its new root
+    private Node insertAll(Node node, List<T> sorted, int from, int to, AtomicInteger existing) {
+        if (from >= to) {
+            return node;
+        }
+        if (node == null) {
+            return build(sorted, from, to);
+        }
+
+        // cut the batch at this node's value, a value already in the tree is skipped
+        int cut = SortedBatches.lowerBound(sorted, from, to, node.value);
+        boolean found = cut < to && sorted.get(cut).compareTo(node.value) == 0;
+        if (found) {
+            existing.incrementAndGet();
+        }
+        int rightFrom = found ? cut + 1 : cut;
+
+        Node left = node.left;
+        Node right = node.right;
+        Split halves = inParallel(to - from >= PARALLEL_BATCH,
+                () -> insertAll(left, sorted, from, cut, existing),
+                () -> insertAll(right, sorted, rightFrom, to, existing));
+        return join(halves.less, node, halves.greater);
+    }
+
     /*
     * Helper methods for Debugging
     */
@@ -0,0 +1,591 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive Radix Tree Implementation
+ * An ordered set of int keys that descends by the key's bytes instead of by comparisons, so a
+ * lookup takes at most four steps whatever the number of keys.
+ *
+ * Inner nodes come in four sizes and grow or shrink as children come and go:
+ * - Node4 and Node16: sorted byte keys next to their children, scanned or binary searched
+ * - Node48: a 256-entry byte index into 48 child slots
+ * - Node256: the child array indexed directly by the byte
+ *
+ * Path compression: an inner node stores the byte it dispatches on (depth) and the key bytes
+ * above it (prefix), so a chain of single-child nodes is never built and the whole prefix is
+ * checked with one masked compare. A subtree with a single key is just its leaf.
+ *
+ * Keys are stored with the sign bit flipped so that byte order matches signed int order.
+ */
+public class AdaptiveRadixTree implements Tree<Integer>, Serializable {
+    private Node root;
+    private int size;
+
+    /**
+     * NODE CLASSES for the Adaptive Radix Tree
+     */
+    private abstract static class Node implements Serializable {
+    }
+
+    private static final class Leaf extends Node {
+        final int key;  // flipped key
+
+        Leaf(int key) {
+            this.key = key;
+        }
+    }
+
+    private abstract static class Inner extends Node {
+        final int depth;   // index of the byte this node dispatches on, 0 = most significant
+        final int prefix;  // key bytes above depth shared by the whole subtree, zeros below
+        int count;
+
+        Inner(int depth, int prefix) {
+            this.depth = depth;
+            this.prefix = prefix;
+        }
+
+        abstract Node find(int b);
+        abstract void add(int b, Node child);      // b must be free and the node not full
+        abstract void replace(int b, Node child);  // b must be present
+        abstract void remove(int b);               // b must be present
+        abstract int next(int b);                  // smallest used byte >= b, -1 if none
+        abstract boolean isFull();
+        abstract Inner grow();
+        abstract Inner shrink();                   // this node, or a smaller one if it is underfull
+        abstract String name();
+
+        // Copies every child into target, in byte order
+        Inner copyInto(Inner target) {
+            for (int b = next(0); b != -1; b = next(b + 1)) {
+                target.add(b, find(b));
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Node4 and Node16: up to capacity children with their bytes kept sorted
+     */
+    private static final class SortedNode extends Inner {
+        final byte[] keys;
+        final Node[] children;
+
+        SortedNode(int depth, int prefix, int capacity) {
+            super(depth, prefix);
+            this.keys = new byte[capacity];
+            this.children = new Node[capacity];
+        }
+
+        // Position of b, or -(insertion point) - 1
+        private int indexOf(int b) {
+            if (keys.length == 4) {
+                int i = 0;
+                while (i < count && (keys[i] & 0xFF) < b) {
+                    i++;
+                }
+                return i < count && (keys[i] & 0xFF) == b ? i : -i - 1;
+            }
+            int lo = 0;
+            int hi = count - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int key = keys[mid] & 0xFF;
+                if (key < b) {
+                    lo = mid + 1;
+                } else if (key > b) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -lo - 1;
+        }
+
+        @Override
+        Node find(int b) {
+            int i = indexOf(b);
+            return i >= 0 ? children[i] : null;
+        }
+
+        @Override
+        void add(int b, Node child) {
+            int i = -indexOf(b) - 1;
+            System.arraycopy(keys, i, keys, i + 1, count - i);
+            System.arraycopy(children, i, children, i + 1, count - i);
+            keys[i] = (byte) b;
+            children[i] = child;
+            count++;
+        }
+
+        @Override
+        void replace(int b, Node child) {
+            children[indexOf(b)] = child;
+        }
+
+        @Override
+        void remove(int b) {
+            int i = indexOf(b);
+            System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+            System.arraycopy(children, i + 1, children, i, count - i - 1);
+            children[--count] = null;
+        }
+
+        @Override
+        int next(int b) {
+            int i = indexOf(b);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < count ? keys[i] & 0xFF : -1;
+        }
+
+        @Override
+        boolean isFull() {
+            return count == keys.length;
+        }
+
+        @Override
+        Inner grow() {
+            Inner bigger = keys.length == 4 ? new SortedNode(depth, prefix, 16) : new Node48(depth, prefix);
+            return copyInto(bigger);
+        }
+
+        @Override
+        Inner shrink() {
+            return keys.length == 16 && count <= 3 ? copyInto(new SortedNode(depth, prefix, 4)) : this;
+        }
+
+        @Override
+        String name() {
+            return "NODE" + keys.length;
+        }
+    }
+
+    /**
+     * Node48: index[b] is the child's slot plus one, 0 when b has no child
+     */
+    private static final class Node48 extends Inner {
+        final byte[] index = new byte[256];
+        final Node[] children = new Node[48];
+
+        Node48(int depth, int prefix) {
+            super(depth, prefix);
+        }
+
+        @Override
+        Node find(int b) {
+            int slot = index[b];
+            return slot == 0 ? null : children[slot - 1];
+        }
+
+        @Override
+        void add(int b, Node child) {
+            int slot = 0;
+            while (children[slot] != null) {
+                slot++;
+            }
+            children[slot] = child;
+            index[b] = (byte) (slot + 1);
+            count++;
+        }
+
+        @Override
+        void replace(int b, Node child) {
+            children[index[b] - 1] = child;
+        }
+
+        @Override
+        void remove(int b) {
+            children[index[b] - 1] = null;
+            index[b] = 0;
+            count--;
+        }
+
+        @Override
+        int next(int b) {
+            for (; b < 256; b++) {
+                if (index[b] != 0) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean isFull() {
+            return count == 48;
+        }
+
+        @Override
+        Inner grow() {
+            return copyInto(new Node256(depth, prefix));
+        }
+
+        @Override
+        Inner shrink() {
+            return count <= 12 ? copyInto(new SortedNode(depth, prefix, 16)) : this;
+        }
+
+        @Override
+        String name() {
+            return "NODE48";
+        }
+    }
+
+    /**
+     * Node256: children[b] directly
+     */
+    private static final class Node256 extends Inner {
+        final Node[] children = new Node[256];
+
+        Node256(int depth, int prefix) {
+            super(depth, prefix);
+        }
+
+        @Override
+        Node find(int b) {
+            return children[b];
+        }
+
+        @Override
+        void add(int b, Node child) {
+            children[b] = child;
+            count++;
+        }
+
+        @Override
+        void replace(int b, Node child) {
+            children[b] = child;
+        }
+
+        @Override
+        void remove(int b) {
+            children[b] = null;
+            count--;
+        }
+
+        @Override
+        int next(int b) {
+            for (; b < 256; b++) {
+                if (children[b] != null) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean isFull() {
+            return false;
+        }
+
+        @Override
+        Inner grow() {
+            return this;
+        }
+
+        @Override
+        Inner shrink() {
+            return count <= 37 ? copyInto(new Node48(depth, prefix)) : this;
+        }
+
+        @Override
+        String name() {
+            return "NODE256";
+        }
+    }
+
+    //
+    // Adaptive Radix Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Adaptive Radix Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DODGERBLUE;
+    }
+
+    private static int toKey(int value) {
+        return value ^ Integer.MIN_VALUE;
+    }
+
+    private static int toValue(int key) {
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    // Byte of key at depth, 0 being the most significant
+    private static int byteAt(int key, int depth) {
+        return (key >>> (24 - 8 * depth)) & 0xFF;
+    }
+
+    // Selects the bytes above depth
+    private static int prefixMask(int depth) {
+        return depth == 0 ? 0 : -1 << (32 - 8 * depth);
+    }
+
+    // First byte where two different keys differ
+    private static int firstDifferentByte(int a, int b) {
+        return Integer.numberOfLeadingZeros(a ^ b) / 8;
+    }
+
+    // New Node4 at the byte where two subtrees part ways
+    private static Inner split(int depth, int key, Node a, int aKey, Node b, int bKey) {
+        Inner node = new SortedNode(depth, key & prefixMask(depth), 4);
+        node.add(byteAt(aKey, depth), a);
+        node.add(byteAt(bKey, depth), b);
+        return node;
+    }
+
+    //
+    // Adaptive Radix Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        root = insert(root, toKey(value));
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    private Node insert(Node node, int key) {
+        // Base Case Handling
+        if (node == null) {
+            size++;
+            return new Leaf(key);
+        }
+
+        if (node instanceof Leaf) {
+            int existing = ((Leaf) node).key;
+            // Value already exists, don't insert
+            if (existing == key) {
+                return node;
+            }
+            size++;
+            return split(firstDifferentByte(existing, key), key, node, existing, new Leaf(key), key);
+        }
+
+        Inner inner = (Inner) node;
+        // The compressed path does not match, a new node goes in above this one
+        int mismatch = (key & prefixMask(inner.depth)) ^ inner.prefix;
+        if (mismatch != 0) {
+            size++;
+            int depth = Integer.numberOfLeadingZeros(mismatch) / 8;
+            return split(depth, key, inner, inner.prefix, new Leaf(key), key);
+        }
+
+        int b = byteAt(key, inner.depth);
+        Node child = inner.find(b);
+        if (child != null) {
+            Node updated = insert(child, key);
+            if (updated != child) {
+                inner.replace(b, updated);
+            }
+            return inner;
+        }
+        if (inner.isFull()) {
+            inner = inner.grow();
+        }
+        inner.add(b, new Leaf(key));
+        size++;
+        return inner;
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(int value) {
+        int before = size;
+        root = delete(root, toKey(value));
+        return size < before;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    private Node delete(Node node, int key) {
+        if (node == null) {
+            return null;
+        }
+        if (node instanceof Leaf) {
+            if (((Leaf) node).key != key) {
+                return node;
+            }
+            size--;
+            return null;
+        }
+
+        Inner inner = (Inner) node;
+        if (((key & prefixMask(inner.depth)) ^ inner.prefix) != 0) {
+            return inner;
+        }
+        int b = byteAt(key, inner.depth);
+        Node child = inner.find(b);
+        if (child == null) {
+            return inner;
+        }
+        Node updated = delete(child, key);
+        if (updated == child) {
+            return inner;
+        }
+        if (updated != null) {
+            inner.replace(b, updated);
+            return inner;
+        }
+
+        inner.remove(b);
+        // A node left with one child is replaced by it, its depth and prefix are absolute
+        if (inner.count == 1) {
+            return inner.find(inner.next(0));
+        }
+        return inner.shrink();
+    }
+
+    public boolean contains(int value) {
+        int key = toKey(value);
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            if (((key & prefixMask(inner.depth)) ^ inner.prefix) != 0) {
+                return false;
+            }
+            node = inner.find(byteAt(key, inner.depth));
+        }
+        return node != null && ((Leaf) node).key == key;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Height of the tree in nodes, at most 5 (four inner levels and a leaf)
+     */
+    public int getHeight() {
+        return getHeight(root);
+    }
+
+    private int getHeight(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        if (node instanceof Leaf) {
+            return 1;
+        }
+        Inner inner = (Inner) node;
+        int height = 0;
+        for (int b = inner.next(0); b != -1; b = inner.next(b + 1)) {
+            height = Math.max(height, getHeight(inner.find(b)));
+        }
+        return height + 1;
+    }
+
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        inorderTraversal(root, result);
+        return result;
+    }
+
+    private void inorderTraversal(Node node, List<Integer> result) {
+        if (node == null) {
+            return;
+        }
+        if (node instanceof Leaf) {
+            result.add(toValue(((Leaf) node).key));
+            return;
+        }
+        Inner inner = (Inner) node;
+        for (int b = inner.next(0); b != -1; b = inner.next(b + 1)) {
+            inorderTraversal(inner.find(b), result);
+        }
+    }
+
+    //
+    // Adaptive Radix Tree Visualization
+    //
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        return root == null ? null : new NodeView(root, null, -1);
+    }
+
+    /**
+     * Multiway nodes drawn as a binary tree: left is the first child, right the next sibling.
+     * Leaves show their key, inner nodes the byte that leads to them from their parent, and an
+     * inner root, which no byte leads to, the depth it dispatches on.
+     */
+    private static final class NodeView implements TreeNode<Integer> {
+        private final Node node;
+        private final Inner parent;  // null for the root
+        private final int edge;      // byte under which parent holds node
+
+        NodeView(Node node, Inner parent, int edge) {
+            this.node = node;
+            this.parent = parent;
+            this.edge = edge;
+        }
+
+        @Override
+        public Integer getValue() {
+            if (node instanceof Leaf) {
+                return toValue(((Leaf) node).key);
+            }
+            return parent == null ? ((Inner) node).depth : edge;
+        }
+
+        @Override
+        public TreeNode<Integer> getLeft() {
+            if (node instanceof Leaf) {
+                return null;
+            }
+            Inner inner = (Inner) node;
+            int first = inner.next(0);
+            return first == -1 ? null : new NodeView(inner.find(first), inner, first);
+        }
+
+        @Override
+        public TreeNode<Integer> getRight() {
+            if (parent == null || edge == 255) {
+                return null;
+            }
+            int sibling = parent.next(edge + 1);
+            return sibling == -1 ? null : new NodeView(parent.find(sibling), parent, sibling);
+        }
+
+        @Override
+        public String getColor() {
+            return node instanceof Leaf ? "LEAF" : ((Inner) node).name();
+        }
+    }
+}
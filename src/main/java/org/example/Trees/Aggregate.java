@@ -0,0 +1,49 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+
+/**
+ * An associative summary of a run of values (a monoid), kept per subtree by AugmentedAVLTree
+ * and AugmentedRedBlackTree so a range of values can be summarized in O(log n).
+ *
+ * combine must be associative and identity must leave any summary unchanged when combined on
+ * either side. combine is always called with the left (smaller) values first, so it does not
+ * need to be commutative.
+ *
+ * Trees can only be joined or combined when their aggregates are equal. The factories below
+ * always return the same instance, other aggregates should override equals if two instances
+ * can mean the same summary.
+ */
+public interface Aggregate<T, A> extends Serializable {
+    A identity();
+    A of(T value);
+    A combine(A left, A right);
+
+    /**
+     * Number of values
+     */
+    static <T> Aggregate<T, Long> count() {
+        return StandardAggregate.COUNT.cast();
+    }
+
+    /**
+     * Sum of the values as a long
+     */
+    static <T extends Number> Aggregate<T, Long> sum() {
+        return StandardAggregate.SUM.cast();
+    }
+
+    /**
+     * Smallest value, null for no values
+     */
+    static <T extends Comparable<T>> Aggregate<T, T> min() {
+        return StandardAggregate.MIN.cast();
+    }
+
+    /**
+     * Largest value, null for no values
+     */
+    static <T extends Comparable<T>> Aggregate<T, T> max() {
+        return StandardAggregate.MAX.cast();
+    }
+}
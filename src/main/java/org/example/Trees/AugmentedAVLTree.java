@@ -0,0 +1,99 @@
+package org.example.Trees;
+
+/**
+ * Augmented AVL Tree Implementation
+ * An AVL tree where every node also keeps the Aggregate of its whole subtree. AVLTree calls
+ * update right after every height update (the insert and delete paths, rotations, joins), so
+ * the summaries stay correct under every operation the base tree has.
+ *
+ * aggregate(lo, hi) combines whole subtree summaries along the two search paths for lo and hi,
+ * O(log n) calls to combine for any range size.
+ */
+public class AugmentedAVLTree<T extends Comparable<T>, A> extends AVLTree<T> {
+    private final SubtreeAggregates<T, A> summaries;
+
+    /**
+     * NODE CLASS for the Augmented AVL Tree
+     * An AVL node that also knows the aggregate of its subtree
+     */
+    private class AggregateNode extends Node implements SubtreeAggregates.Summarized<A> {
+        A summary;
+
+        AggregateNode(T value) {
+            super(value);
+            this.summary = summaries.of(value);
+        }
+
+        @Override
+        public A summary() {
+            return summary;
+        }
+
+        @Override
+        public void setSummary(A summary) {
+            this.summary = summary;
+        }
+    }
+
+    //
+    // Augmented AVL Tree Constructor
+    //
+
+    public AugmentedAVLTree(Aggregate<? super T, A> aggregate) {
+        this.summaries = new SubtreeAggregates<T, A>(aggregate);
+    }
+
+    //
+    // Augmented AVL Tree Helper Methods
+    //
+
+    @Override
+    protected Node createNode(T value) {
+        return new AggregateNode(value);
+    }
+
+    @Override
+    protected AugmentedAVLTree<T, A> newEmpty() {
+        return new AugmentedAVLTree<T, A>(summaries.aggregate());
+    }
+
+    // Nodes carry summaries of this aggregate, so they only fit trees that keep the same one
+    @Override
+    protected boolean combinableWith(AVLTree<T> other) {
+        return super.combinableWith(other)
+                && summaries.aggregate().equals(((AugmentedAVLTree<T, ?>) other).summaries.aggregate());
+    }
+
+    @Override
+    protected void update(Node node) {
+        summaries.update(node);
+    }
+
+    //
+    // Augmented AVL Tree Query Methods
+    //
+
+    /**
+     * Split
+     * As in AVLTree, the returned tree keeps the same aggregate
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public AugmentedAVLTree<T, A> split(T key) {
+        return (AugmentedAVLTree<T, A>) super.split(key);
+    }
+
+    /**
+     * Aggregate of every value in the tree
+     */
+    public A aggregate() {
+        return summaries.summary(rootNode());
+    }
+
+    /**
+     * Aggregate of every value in [lo, hi], in order
+     */
+    public A aggregate(T lo, T hi) {
+        return summaries.aggregate(rootNode(), lo, hi);
+    }
+}
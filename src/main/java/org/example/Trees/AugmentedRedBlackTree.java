@@ -0,0 +1,99 @@
+package org.example.Trees;
+
+/**
+ * Augmented Red-Black Tree Implementation
+ * A red-black tree where every node also keeps the Aggregate of its whole subtree. RedBlackTree
+ * calls update on each node whose children change (rotations, fixDelete, the insert and delete
+ * paths, joins), so the summaries stay correct under every operation the base tree has.
+ *
+ * aggregate(lo, hi) combines whole subtree summaries along the two search paths for lo and hi,
+ * O(log n) calls to combine for any range size.
+ */
+public class AugmentedRedBlackTree<T extends Comparable<T>, A> extends RedBlackTree<T> {
+    private final SubtreeAggregates<T, A> summaries;
+
+    /**
+     * NODE CLASS for the Augmented Red-Black Tree
+     * A red-black node that also knows the aggregate of its subtree
+     */
+    private class AggregateNode extends Node implements SubtreeAggregates.Summarized<A> {
+        A summary;
+
+        AggregateNode(T value) {
+            super(value);
+            this.summary = summaries.of(value);
+        }
+
+        @Override
+        public A summary() {
+            return summary;
+        }
+
+        @Override
+        public void setSummary(A summary) {
+            this.summary = summary;
+        }
+    }
+
+    //
+    // Augmented Red-Black Tree Constructor
+    //
+
+    public AugmentedRedBlackTree(Aggregate<? super T, A> aggregate) {
+        this.summaries = new SubtreeAggregates<T, A>(aggregate);
+    }
+
+    //
+    // Augmented Red-Black Tree Helper Methods
+    //
+
+    @Override
+    protected Node createNode(T value) {
+        return new AggregateNode(value);
+    }
+
+    @Override
+    protected AugmentedRedBlackTree<T, A> newEmpty() {
+        return new AugmentedRedBlackTree<T, A>(summaries.aggregate());
+    }
+
+    // Nodes carry summaries of this aggregate, so they only fit trees that keep the same one
+    @Override
+    protected boolean combinableWith(RedBlackTree<T> other) {
+        return super.combinableWith(other)
+                && summaries.aggregate().equals(((AugmentedRedBlackTree<T, ?>) other).summaries.aggregate());
+    }
+
+    @Override
+    protected void update(Node node) {
+        summaries.update(node);
+    }
+
+    //
+    // Augmented Red-Black Tree Query Methods
+    //
+
+    /**
+     * Split
+     * As in RedBlackTree, the returned tree keeps the same aggregate
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public AugmentedRedBlackTree<T, A> split(T key) {
+        return (AugmentedRedBlackTree<T, A>) super.split(key);
+    }
+
+    /**
+     * Aggregate of every value in the tree
+     */
+    public A aggregate() {
+        return summaries.summary(rootNode());
+    }
+
+    /**
+     * Aggregate of every value in [lo, hi], in order
+     */
+    public A aggregate(T lo, T hi) {
+        return summaries.aggregate(rootNode(), lo, hi);
+    }
+}
@@ -0,0 +1,1100 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * B-Tree Implementation
+ * The 2-4 tree generalized to any even order m (4, 16, 64, 128...).
+ * Properties:
+ * - Each node has at most m - 1 keys and m children
+ * - Each node other than the root has at least m/2 - 1 keys and m/2 children
+ * - All leaves are at the same level
+ * - Keys in each node are in sorted order
+ *
+ * Keys and children live in fixed-size arrays allocated once per node, a node is searched
+ * with a binary search, and split, merge and borrow move whole runs with System.arraycopy.
+ * Order 4 is the 2-4 tree (see Tree24); higher orders give wide, shallow trees whose key
+ * arrays span several cache lines, so a lookup touches far fewer nodes on big data sets.
+ */
+public class BTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    // batch inserts fork a task per child for parts of at least this many values
+    private static final int PARALLEL_BATCH = 1 << 12;
+
+    private final int order;  // maximum number of children per node
+    private Node root;
+    private int size;
+
+    /**
+     * NODE CLASS for B-Tree
+     * Each node has:
+     * - up to order - 1 keys, kept in sorted order in keys[0, keyCount)
+     * - up to order children in children[0, childCount), internal nodes only
+     */
+    protected class Node implements Serializable {
+        //
+        // Node Class Setup and Constructors
+        //
+
+        Object[] keys;       // Values stored in this node, null if a subclass stores them itself
+        Node[] children;     // Child pointers, null for leaves
+        int keyCount;
+        int childCount;
+        boolean isLeaf;      // True if this is a leaf node
+
+        Node(boolean isLeaf) {
+            this(isLeaf, new Object[order - 1]);
+        }
+
+        @SuppressWarnings("unchecked")
+        Node(boolean isLeaf, Object[] keys) {
+            this.keys = keys;
+            this.children = isLeaf ? null : (Node[]) new BTree<?>.Node[order];
+            this.isLeaf = isLeaf;
+        }
+
+        //
+        // Node Class Key Storage
+        // All key access goes through these, so a subclass can keep the keys in another array
+        // type (IntBTree keeps an int[]) while the tree operations stay the same
+        //
+
+        @SuppressWarnings("unchecked")
+        T keyAt(int index) {
+            return (T) keys[index];
+        }
+
+        void setKey(int index, T key) {
+            keys[index] = key;
+        }
+
+        // Copies count keys from this node at from into target at to, overlapping like System.arraycopy
+        void copyKeys(int from, Node target, int to, int count) {
+            System.arraycopy(keys, from, target.keys, to, count);
+        }
+
+        // Releases the key slots [from, to) that are no longer in use
+        void clearKeys(int from, int to) {
+            Arrays.fill(keys, from, to, null);
+        }
+
+        /**
+         * Find the index where the key should be inserted or where to search:
+         * the first key that is >= key, found by binary search
+         */
+        int findKeyIndex(T key) {
+            int low = 0;
+            int high = keyCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key.compareTo(keyAt(mid)) > 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // True if the key at index, as returned by findKeyIndex, is key itself
+        boolean hasKeyAt(int index, T key) {
+            return index < keyCount && key.compareTo(keyAt(index)) == 0;
+        }
+
+        //
+        // Node Class Utility methods
+        //
+
+        boolean isLeaf() {
+            return isLeaf;
+        }
+
+        int getKeyCount() {
+            return keyCount;
+        }
+
+        int getChildCount() {
+            return childCount;
+        }
+
+        // get child on children array
+        Node getChild(int index) {
+            if (index >= 0 && index < childCount) {
+                return children[index];
+            }
+            return null;
+        }
+
+        // get keys on keys array
+        T getKey(int index) {
+            if (index >= 0 && index < keyCount) {
+                return keyAt(index);
+            }
+            return null;
+        }
+
+        //
+        // Node Class Operators
+        //
+
+        /**
+         * Add
+         */
+        void appendKey(T key) {
+            setKey(keyCount++, key);
+        }
+
+        void addChild(Node child) {
+            children[childCount++] = child;
+        }
+
+        /**
+         * Insert
+         */
+
+        void insertKeyAt(int index, T key) {
+            copyKeys(index, this, index + 1, keyCount - index);
+            setKey(index, key);
+            keyCount++;
+        }
+
+        void insertChildAt(int index, Node child) {
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        /**
+         * Remove
+         */
+        T removeKey(int index) {
+            T key = getKey(index);
+            copyKeys(index + 1, this, index, keyCount - index - 1);
+            clearKeys(keyCount - 1, keyCount);
+            keyCount--;
+            return key;
+        }
+
+        Node removeChild(int index) {
+            Node child = children[index];
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+            return child;
+        }
+
+        // Keeps the first count keys (and the children around them), clearing the rest
+        void truncate(int count) {
+            clearKeys(count, keyCount);
+            keyCount = count;
+            if (!isLeaf) {
+                Arrays.fill(children, count + 1, childCount, null);
+                childCount = count + 1;
+            }
+        }
+
+        // Drops the first count keys and children, shifting the rest to the front
+        void dropFront(int count) {
+            copyKeys(count, this, 0, keyCount - count);
+            clearKeys(keyCount - count, keyCount);
+            keyCount -= count;
+            if (!isLeaf) {
+                System.arraycopy(children, count, children, 0, childCount - count);
+                Arrays.fill(children, childCount - count, childCount, null);
+                childCount -= count;
+            }
+        }
+
+        /**
+         * Size Check and Navigation
+         */
+
+        boolean isFull() {
+            return keyCount == order - 1;
+        }
+
+        //
+        // Node Class Helper Method
+        //
+
+        @Override
+        public String toString() {
+            Object[] shown = new Object[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                shown[i] = keyAt(i);
+            }
+            return "Node{keys=" + Arrays.toString(shown) + ", isLeaf=" + isLeaf + "}";
+        }
+    }
+    // End of Node Class
+
+    //
+    // B-Tree Class Constructor
+    //
+
+    public BTree(int order) {
+        if (order < 4 || order % 2 != 0) {
+            throw new IllegalArgumentException("Order must be an even number of at least 4");
+        }
+        this.order = order;
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Bulk Load
+     * Builds a B-tree of the given order straight from values in strictly ascending order,
+     * with every node packed full wherever the count allows it.
+     */
+    public static <T extends Comparable<T>> BTree<T> fromSorted(int order, List<T> sorted) {
+        return fromSorted(order, sorted, 1.0);
+    }
+
+    /**
+     * Bulk Load
+     * Builds a B-tree of the given order straight from values in strictly ascending order in
+     * linear time. The fill factor (0, 1] picks how many of the order - 1 key slots each node
+     * should use, see Tree24.fromSorted.
+     */
+    public static <T extends Comparable<T>> BTree<T> fromSorted(int order, List<T> sorted, double fillFactor) {
+        BTree<T> tree = new BTree<>(order);
+        tree.load(sorted, fillFactor);
+        return tree;
+    }
+
+    // Replaces the contents with the sorted values, shared by the bulk loaders
+    protected void load(List<T> sorted, double fillFactor) {
+        if (!(fillFactor > 0 && fillFactor <= 1)) {
+            throw new IllegalArgumentException("Fill factor must be in (0, 1]");
+        }
+        List<T> values = SortedBatches.checkSorted(sorted);
+
+        // target keys per node, and the matching number of children
+        int fanout = 1 + Math.max(1, Math.min(order - 1, (int) Math.round(fillFactor * (order - 1))));
+
+        root = buildPart(values, 0, values.size(), fanout).root;
+        size = values.size();
+    }
+
+    // Builds sorted[from, to) as a detached part at the height the target fanout needs
+    private Part buildPart(List<T> sorted, int from, int to, int fanout) {
+        int n = to - from;
+        if (n == 0) {
+            return new Part(null, 0);
+        }
+
+        // pick the height the target fanout needs, kept within what minimal and full nodes allow
+        int height = 1;
+        while (maxKeys(height, fanout) < n) {
+            height++;
+        }
+        while (height > 1 && 2 * minKeys(height - 1) + 1 > n) {
+            height--;
+        }
+        while (maxKeys(height, order) < n) {
+            height++;
+        }
+        return new Part(build(sorted, from, to, height, fanout, 2), height);
+    }
+
+    // Builds the subtree of the given height holding sorted[from, to)
+    private Node build(List<T> sorted, int from, int to, int height, int fanout, int minChildren) {
+        // leaves just take the keys, the height choice guarantees they fit
+        if (height == 1) {
+            Node leaf = newNode(true);
+            for (int i = from; i < to; i++) {
+                leaf.appendKey(sorted.get(i));
+            }
+            return leaf;
+        }
+
+        // choose the number of children, then spread the remaining keys evenly between them
+        int count = to - from;
+        int children = childCount(count, height, fanout, minChildren);
+        int remaining = count - (children - 1);
+        int share = remaining / children;
+        int extra = remaining % children;
+
+        Node node = newNode(false);
+        int start = from;
+        for (int c = 0; c < children; c++) {
+            int take = share + (c < extra ? 1 : 0);
+            node.addChild(build(sorted, start, start + take, height - 1, fanout, order / 2));
+            start += take;
+            // separator key between this child and the next
+            if (c < children - 1) {
+                node.appendKey(sorted.get(start));
+                start++;
+            }
+        }
+        return node;
+    }
+
+    // Number of children closest to the target fanout that still lets every child hold a valid subtree
+    private int childCount(int count, int height, int fanout, int minChildren) {
+        for (int distance = 0; distance < order; distance++) {
+            for (int children : new int[] {fanout - distance, fanout + distance}) {
+                if (children < minChildren || children > order) {
+                    continue;
+                }
+                long remaining = count - (children - 1);
+                if (remaining >= children * minKeys(height - 1) && remaining <= children * maxKeys(height - 1, order)) {
+                    return children;
+                }
+            }
+        }
+        throw new IllegalStateException("No valid fanout for " + count + " keys at height " + height);
+    }
+
+    // Fewest keys a non-root subtree of this height can hold: every node at the minimum
+    private long minKeys(int height) {
+        return maxKeys(height, order / 2);
+    }
+
+    // Most keys a subtree of this height holds when every node has the given number of children
+    private static long maxKeys(int height, int children) {
+        long keys = 1;
+        for (int i = 0; i < height && keys <= Integer.MAX_VALUE; i++) {
+            keys *= children;
+        }
+        return keys - 1;
+    }
+
+    //
+    //  B-Tree Class Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "B-Tree (order " + order + ")";
+    }
+
+    @Override
+    public Color color() {
+        return Color.MIDNIGHTBLUE;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public int getHeight() {
+        return height(root);
+    }
+
+    protected Node rootNode() {
+        return root;
+    }
+
+    // Every node of the tree is made here, IntBTree makes nodes that keep int keys
+    protected Node newNode(boolean isLeaf) {
+        return new Node(isLeaf);
+    }
+
+    // Fewest keys a node other than the root may hold
+    private int minNodeKeys() {
+        return order / 2 - 1;
+    }
+
+    //
+    //  B-Tree Class Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+
+        // Base Case Handling
+        // if no root, make a root
+        if (root == null) {
+            root = newNode(true);
+            root.appendKey(value);
+            size++;
+            return;
+        }
+
+        // Edge case: If root is full, split it
+        if (root.isFull()) {
+            Node newRoot = newNode(false);  // make new node with leaf disabled
+            newRoot.addChild(root);  // make new root parent of root
+            splitChild(newRoot, 0);  // split the root and replace with a new root
+            root = newRoot;
+        }
+
+        // Edge Case: insert into a non full node
+        if (insertNonFull(root, value)) {
+            size++;
+        }
+    }
+
+    // find the proper non full node to insert value at, returns false if the value is already there
+    private boolean insertNonFull(Node node, T value) {
+        int i = node.findKeyIndex(value);
+
+        // Value already exists, don't insert
+        if (node.hasKeyAt(i, value)) {
+            return false;
+        }
+
+        // Case 1: Leaf Node - Direct Insertion
+        if (node.isLeaf()) {
+            node.insertKeyAt(i, value);
+            return true;
+        }
+
+        // Case 2: Internal Node - Navigate Down
+        // Split the child first if it is full, so there is room for a key moving up from below
+        if (node.getChild(i).isFull()) {
+            splitChild(node, i);
+
+            // Reorient After split, determine which child to insert into
+            int cmp = value.compareTo(node.getKey(i));
+            if (cmp == 0) {
+                return false;  // the middle key that moved up is the value
+            }
+            if (cmp > 0) {
+                i++;  // Point to right child
+            }
+        }
+
+        // Recursive Call with Target Child
+        return insertNonFull(node.getChild(i), value);
+    }
+
+    // Insert Helper Function: Splits a full child node into two nodes around its middle key.
+    // The middle key moves up to the parent, the right half moves to a new right sibling
+    private void splitChild(Node parent, int index) {
+        Node fullChild = parent.getChild(index);
+        Node newChild = newNode(fullChild.isLeaf());
+
+        // order - 1 keys: mid on the left, mid on the right and the middle key for the parent
+        int mid = fullChild.getKeyCount() / 2;
+        T middleKey = fullChild.getKey(mid);
+
+        int moved = fullChild.getKeyCount() - mid - 1;
+        fullChild.copyKeys(mid + 1, newChild, 0, moved);
+        newChild.keyCount = moved;
+        if (!fullChild.isLeaf()) {
+            System.arraycopy(fullChild.children, mid + 1, newChild.children, 0, moved + 1);
+            newChild.childCount = moved + 1;
+        }
+        fullChild.truncate(mid);
+
+        parent.insertKeyAt(index, middleKey);
+        parent.insertChildAt(index + 1, newChild);
+    }
+
+    /**
+     * Delete
+     */
+    @Override
+    public boolean delete(T value) {
+
+        // base case: if root or value doesnt exist return.
+        if (root == null || value == null) {
+            return false;
+        }
+
+        boolean deleted = deleteFromNode(root, value);
+
+        // If root is empty after deletion, make its only child the new root
+        if (root.getKeyCount() == 0) {
+            root = root.isLeaf() ? null : root.getChild(0);
+        }
+
+        // if deletion is successful, reduce tree size
+        if (deleted) {
+            size--;
+        }
+
+        return deleted;
+    }
+
+    private boolean deleteFromNode(Node node, T value) {
+        // get index/pointer of node based on key value
+        int i = node.findKeyIndex(value);
+
+        // Case 1: If Key is found in the node
+        if (node.hasKeyAt(i, value)) {
+            // Key found in this node
+            if (node.isLeaf()) {  // if node is leaf, direct deletion
+                node.removeKey(i);
+                return true;
+            }
+            // if not, delete from internal node
+            return deleteFromInternalNode(node, i);
+        }
+
+        // Case 2: edge case - node is leaf, so its the end of the search
+        if (node.isLeaf()) {
+            return false;
+        }
+
+        // Case 3: Key might still be in tree - keep looking
+        // Ensure the child has more than the minimum before descending, so it can lose a key
+        if (node.getChild(i).getKeyCount() <= minNodeKeys()) {
+            fillChild(node, i);
+
+            // After filling, research the key position based on the value
+            i = node.findKeyIndex(value);
+            if (node.hasKeyAt(i, value)) {
+                return deleteFromInternalNode(node, i);
+            }
+        }
+
+        // recursive call on child node
+        return deleteFromNode(node.getChild(i), value);
+    }
+
+    private boolean deleteFromInternalNode(Node node, int index) {
+        // Saves key being deleted
+        T key = node.getKey(index);
+
+        // Case 1: If left child has keys to spare - Replace with Predecessor
+        if (node.getChild(index).getKeyCount() > minNodeKeys()) {
+            T predecessor = getPredecessor(node, index);
+            node.setKey(index, predecessor);
+            return deleteFromNode(node.getChild(index), predecessor);
+        }
+
+        // Case 2: If right child has keys to spare - Replace with Successor
+        if (node.getChild(index + 1).getKeyCount() > minNodeKeys()) {
+            T successor = getSuccessor(node, index);
+            node.setKey(index, successor);
+            return deleteFromNode(node.getChild(index + 1), successor);
+        }
+
+        // Case 3: If both children are at the minimum - Merge Children
+        merge(node, index);
+        return deleteFromNode(node.getChild(index), key);
+    }
+
+    /**
+     * Tree Sorting Operations
+     */
+
+    // Finds the predecessor - largest value smaller than a key at position index
+    private T getPredecessor(Node node, int index) {
+        Node current = node.getChild(index);
+        while (!current.isLeaf()) {
+            current = current.getChild(current.getChildCount() - 1);
+        }
+        return current.getKey(current.getKeyCount() - 1);
+    }
+
+    //  Finds the successor - smallest value larger than a key at position index
+    private T getSuccessor(Node node, int index) {
+        Node current = node.getChild(index + 1);
+        while (!current.isLeaf()) {
+            current = current.getChild(0);
+        }
+        return current.getKey(0);
+    }
+
+    // Ensures a child has more than the minimum number of keys before deletion
+    private void fillChild(Node node, int index) {
+        // Try to borrow from left sibling
+        if (index != 0 && node.getChild(index - 1).getKeyCount() > minNodeKeys()) {
+            shiftRight(node, index - 1, 1);
+        }
+        // Try to borrow from right sibling
+        else if (index != node.getKeyCount() && node.getChild(index + 1).getKeyCount() > minNodeKeys()) {
+            shiftLeft(node, index, 1);
+        }
+        // Merge with a sibling, the right one unless this is the rightmost child
+        else if (index != node.getKeyCount()) {
+            merge(node, index);
+        } else {
+            merge(node, index - 1);
+        }
+    }
+
+    // Moves count keys from child[index + 1] into child[index] through the parent's separator.
+    // With count 1 this is the borrow from the right sibling
+    private void shiftLeft(Node node, int index, int count) {
+        Node child = node.getChild(index);
+        Node sibling = node.getChild(index + 1);
+
+        // the separator comes down, sibling keys follow it, and the last one moved goes up
+        child.setKey(child.keyCount, node.keyAt(index));
+        sibling.copyKeys(0, child, child.keyCount + 1, count - 1);
+        child.keyCount += count;
+        node.setKey(index, sibling.keyAt(count - 1));
+
+        // the sibling's leftmost children move along with the keys
+        if (!child.isLeaf()) {
+            System.arraycopy(sibling.children, 0, child.children, child.childCount, count);
+            child.childCount += count;
+        }
+        sibling.dropFront(count);
+    }
+
+    // Moves count keys from child[index] into child[index + 1] through the parent's separator.
+    // With count 1 this is the borrow from the left sibling
+    private void shiftRight(Node node, int index, int count) {
+        Node sibling = node.getChild(index);
+        Node child = node.getChild(index + 1);
+
+        // make room at the front of the child, the separator comes down behind the moved keys
+        child.copyKeys(0, child, count, child.keyCount);
+        child.setKey(count - 1, node.keyAt(index));
+        sibling.copyKeys(sibling.keyCount - count + 1, child, 0, count - 1);
+        child.keyCount += count;
+        node.setKey(index, sibling.keyAt(sibling.keyCount - count));
+
+        // the sibling's rightmost children move along with the keys
+        if (!child.isLeaf()) {
+            System.arraycopy(child.children, 0, child.children, count, child.childCount);
+            System.arraycopy(sibling.children, sibling.childCount - count, child.children, 0, count);
+            child.childCount += count;
+        }
+        sibling.truncate(sibling.keyCount - count);
+    }
+
+    // Merges child[index] with child[index + 1]
+    // Parent's separator key joins the merge,
+    // results in one combined child, parent loses a key and child
+    private void merge(Node node, int index) {
+        Node child = node.getChild(index);
+        Node sibling = node.getChild(index + 1);
+
+        // Pull key from parent, then copy the sibling's keys and children behind it
+        child.appendKey(node.getKey(index));
+        sibling.copyKeys(0, child, child.keyCount, sibling.keyCount);
+        child.keyCount += sibling.keyCount;
+        if (!child.isLeaf()) {
+            System.arraycopy(sibling.children, 0, child.children, child.childCount, sibling.childCount);
+            child.childCount += sibling.childCount;
+        }
+
+        node.removeKey(index);
+        node.removeChild(index + 1);
+    }
+
+    // Evens out child[index] and child[index + 1] when one of them is below the minimum,
+    // merging them if everything fits in one node
+    private void rebalance(Node node, int index) {
+        Node left = node.getChild(index);
+        int total = left.getKeyCount() + node.getChild(index + 1).getKeyCount();
+        if (total + 1 <= order - 1) {
+            merge(node, index);
+        } else if (left.getKeyCount() < total / 2) {
+            shiftLeft(node, index, total / 2 - left.getKeyCount());
+        } else if (left.getKeyCount() > total / 2) {
+            shiftRight(node, index, left.getKeyCount() - total / 2);
+        }
+    }
+
+    /**
+    * Searches, Traversal and Size
+    */
+
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        Node node = root;
+        while (node != null) {
+            int i = node.findKeyIndex(value);
+            if (node.hasKeyAt(i, value)) {
+                return true;
+            }
+            node = node.isLeaf() ? null : node.getChild(i);
+        }
+        return false;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        inorderTraversal(root, result);
+        return result;
+    }
+
+    private void inorderTraversal(Node node, List<T> result) {
+        if (node == null) {
+            return;
+        }
+
+        int i;
+        for (i = 0; i < node.getKeyCount(); i++) {
+            // Visit child before key
+            if (!node.isLeaf()) {
+                inorderTraversal(node.getChild(i), result);
+            }
+            result.add(node.getKey(i));
+        }
+
+        // Visit last child
+        if (!node.isLeaf()) {
+            inorderTraversal(node.getChild(i), result);
+        }
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        // B-tree nodes are not binary, the visualizer draws them through their own node class
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //
+    //  B-Tree Class Range Methods
+    //
+
+    /**
+     * Delete Range
+     * Removes every value in [lo, hi] in one pass. The tree is split around lo and hi,
+     * which drops every child subtree lying completely inside the range without visiting it,
+     * and the two outer pieces are joined back. Returns the number of values removed.
+     */
+    public int deleteRange(T lo, T hi) {
+        // base case: empty tree, missing bounds or an empty range
+        if (root == null || lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return 0;
+        }
+
+        // cut off everything below lo, then everything above hi
+        Split below = split(root, height(root), lo);
+        Split above = split(below.greater.root, below.greater.height, hi);
+
+        // what is left between the two cuts (plus the bounds themselves) gets dropped
+        int removed = countKeys(above.less.root);
+        if (below.match != null) {
+            removed++;
+        }
+        if (above.match != null) {
+            removed++;
+        }
+
+        // glue the outer pieces back together
+        root = join2(below.less, above.greater).root;
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * A detached subtree together with its height (levels down to and including the leaves).
+     * Its root may hold fewer than the minimum number of keys, every other node is valid.
+     */
+    private class Part {
+        Node root;
+        int height;
+
+        Part(Node root, int height) {
+            this.root = root;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Result of splitting a subtree around a key:
+     * the values smaller than the key, the key itself (if present), and the values greater
+     */
+    private class Split {
+        Part less;
+        T match;
+        Part greater;
+
+        Split(Part less, T match, Part greater) {
+            this.less = less;
+            this.match = match;
+            this.greater = greater;
+        }
+    }
+
+    // Splits the subtree into the values less than and greater than key, rejoining along the search path
+    private Split split(Node node, int height, T key) {
+        // base case: empty subtree splits into two empty pieces
+        if (node == null) {
+            return new Split(new Part(null, 0), null, new Part(null, 0));
+        }
+
+        int i = node.findKeyIndex(key);
+        boolean found = node.hasKeyAt(i, key);
+        T match = found ? node.getKey(i) : null;
+
+        // Case 1: leaf, the keys on each side of the split point become two new leaves
+        if (node.isLeaf()) {
+            Part less = leafPart(node, 0, i);
+            Part greater = leafPart(node, found ? i + 1 : i, node.getKeyCount());
+            return new Split(less, match, greater);
+        }
+
+        // Case 2: key sits in this internal node, the children on each side are kept whole
+        if (found) {
+            return new Split(fragment(node, height, 0, i), match, fragment(node, height, i + 1, node.getKeyCount()));
+        }
+
+        // Case 3: split the child the key falls into and join the pieces with this node's remaining keys
+        Split result = split(node.getChild(i), height - 1, key);
+        if (i > 0) {
+            result.less = join(fragment(node, height, 0, i - 1), node.getKey(i - 1), result.less);
+        }
+        if (i < node.getKeyCount()) {
+            result.greater = join(result.greater, node.getKey(i), fragment(node, height, i + 1, node.getKeyCount()));
+        }
+        return result;
+    }
+
+    // Builds the subtree holding keys[from, to) and children[from, to] of an internal node
+    private Part fragment(Node node, int height, int from, int to) {
+        // no keys in range, so the single child covers it
+        if (from == to) {
+            return new Part(node.getChild(from), height - 1);
+        }
+        Node piece = newNode(false);
+        node.copyKeys(from, piece, 0, to - from);
+        piece.keyCount = to - from;
+        System.arraycopy(node.children, from, piece.children, 0, to - from + 1);
+        piece.childCount = to - from + 1;
+        return new Part(piece, height);
+    }
+
+    // Builds a leaf holding keys[from, to) of a leaf
+    private Part leafPart(Node node, int from, int to) {
+        if (from == to) {
+            return new Part(null, 0);
+        }
+        Node leaf = newNode(true);
+        node.copyKeys(from, leaf, 0, to - from);
+        leaf.keyCount = to - from;
+        return new Part(leaf, 1);
+    }
+
+    // Joins two subtrees where every value in left < key < every value in right
+    private Part join(Part left, T key, Part right) {
+        // same height: key becomes a new root above both
+        if (left.height == right.height) {
+            Node node = newNode(left.root == null);
+            node.appendKey(key);
+            if (left.root == null) {
+                return new Part(node, 1);
+            }
+            node.addChild(left.root);
+            node.addChild(right.root);
+
+            // the two roots are children now, so they must reach the minimum
+            if (left.root.getKeyCount() < minNodeKeys() || right.root.getKeyCount() < minNodeKeys()) {
+                rebalance(node, 0);
+                if (node.getKeyCount() == 0) {
+                    return new Part(node.getChild(0), left.height);  // both fit in one node
+                }
+            }
+            return new Part(node, left.height + 1);
+        }
+
+        // left is taller: descend its right spine to the level just above right
+        if (left.height > right.height) {
+            Part top = splitFullRoot(left);
+            Node node = top.root;
+            for (int height = top.height; height > right.height + 1; height--) {
+                int last = node.getChildCount() - 1;
+                // split full nodes on the way down like insertNonFull, so the target always has room
+                if (node.getChild(last).isFull()) {
+                    splitChild(node, last);
+                    last++;
+                }
+                node = node.getChild(last);
+            }
+            node.appendKey(key);
+            if (right.root != null) {
+                node.addChild(right.root);
+                if (right.root.getKeyCount() < minNodeKeys()) {
+                    rebalance(node, node.getKeyCount() - 1);
+                }
+            }
+            return top;
+        }
+
+        // right is taller: descend its left spine to the level just above left
+        Part top = splitFullRoot(right);
+        Node node = top.root;
+        for (int height = top.height; height > left.height + 1; height--) {
+            if (node.getChild(0).isFull()) {
+                splitChild(node, 0);
+            }
+            node = node.getChild(0);
+        }
+        node.insertKeyAt(0, key);
+        if (left.root != null) {
+            node.insertChildAt(0, left.root);
+            if (left.root.getKeyCount() < minNodeKeys()) {
+                rebalance(node, 0);
+            }
+        }
+        return top;
+    }
+
+    // Same as the root split in insert, applied to a detached subtree
+    private Part splitFullRoot(Part part) {
+        if (!part.root.isFull()) {
+            return part;
+        }
+        Node newRoot = newNode(false);
+        newRoot.addChild(part.root);
+        splitChild(newRoot, 0);
+        return new Part(newRoot, part.height + 1);
+    }
+
+    // Joins two subtrees with no key in between by pulling the minimum out of the right one
+    private Part join2(Part left, Part right) {
+        if (left.root == null) {
+            return right;
+        }
+        if (right.root == null) {
+            return left;
+        }
+        Node smallest = right.root;
+        while (!smallest.isLeaf()) {
+            smallest = smallest.getChild(0);
+        }
+        Split rest = split(right.root, right.height, smallest.getKey(0));
+        return join(left, rest.match, rest.greater);
+    }
+
+    //
+    //  B-Tree Class Batch Methods
+    //
+
+    /**
+     * Insert All
+     * Inserts a whole batch of values in one pass, see SortedBatches. A part that reaches a
+     * leaf is merged with the leaf's keys and bulk loaded into a packed subtree, and the pieces
+     * are joined back with the node's keys, so splits only happen along the join paths.
+     */
+    public void insertAll(Collection<? extends T> values) {
+        List<T> batch = SortedBatches.sortedBatch(values);
+        AtomicInteger existing = new AtomicInteger();
+        root = insertAll(new Part(root, height(root)), batch, 0, batch.size(), existing).root;
+        size += batch.size() - existing.get();
+    }
+
+    // Inserts sorted[from, to) into the part and returns the new part
+    private Part insertAll(Part part, List<T> sorted, int from, int to, AtomicInteger existing) {
+        if (from >= to) {
+            return part;
+        }
+        if (part.root == null) {
+            return buildPart(sorted, from, to, order);
+        }
+
+        // Case 1: leaf, rebuild it together with its share of the batch
+        Node node = part.root;
+        if (node.isLeaf()) {
+            List<T> merged = mergeSorted(node, sorted, from, to, existing);
+            return buildPart(merged, 0, merged.size(), order);
+        }
+
+        // Case 2: internal node, cut the batch at each key so every child gets its own range
+        int keys = node.getKeyCount();
+        int[] bounds = new int[2 * (keys + 1)];
+        int start = from;
+        for (int k = 0; k < keys; k++) {
+            int cut = SortedBatches.lowerBound(sorted, start, to, node.getKey(k));
+            bounds[2 * k] = start;
+            bounds[2 * k + 1] = cut;
+            start = cut;
+            // a value already in the tree is skipped
+            if (cut < to && sorted.get(cut).compareTo(node.getKey(k)) == 0) {
+                existing.incrementAndGet();
+                start++;
+            }
+        }
+        bounds[2 * keys] = start;
+        bounds[2 * keys + 1] = to;
+
+        List<ForkJoinTask<Part>> children = new ArrayList<>(keys + 1);
+        for (int c = 0; c <= keys; c++) {
+            Part child = new Part(node.getChild(c), part.height - 1);
+            int childFrom = bounds[2 * c];
+            int childTo = bounds[2 * c + 1];
+            children.add(ForkJoinTask.adapt(() -> insertAll(child, sorted, childFrom, childTo, existing)));
+        }
+        if (to - from >= PARALLEL_BATCH) {
+            ForkJoinTask.invokeAll(children);
+        } else {
+            children.forEach(ForkJoinTask::invoke);
+        }
+
+        // glue the grown children back together with this node's keys
+        Part result = children.get(0).join();
+        for (int k = 0; k < keys; k++) {
+            result = join(result, node.getKey(k), children.get(k + 1).join());
+        }
+        return result;
+    }
+
+    // Merges a leaf's keys with sorted[from, to), counting the values the leaf already holds
+    private List<T> mergeSorted(Node leaf, List<T> sorted, int from, int to, AtomicInteger existing) {
+        int keys = leaf.getKeyCount();
+        List<T> merged = new ArrayList<>(keys + to - from);
+        int k = 0;
+        int i = from;
+        while (k < keys || i < to) {
+            if (i == to) {
+                merged.add(leaf.getKey(k++));
+            } else if (k == keys) {
+                merged.add(sorted.get(i++));
+            } else {
+                int cmp = leaf.getKey(k).compareTo(sorted.get(i));
+                if (cmp <= 0) {
+                    merged.add(leaf.getKey(k++));
+                }
+                if (cmp >= 0) {
+                    if (cmp == 0) {
+                        existing.incrementAndGet();
+                    } else {
+                        merged.add(sorted.get(i));
+                    }
+                    i++;
+                }
+            }
+        }
+        return merged;
+    }
+
+    // Number of levels from node down to the leaves, all leaves are on the same level
+    private int height(Node node) {
+        int height = 0;
+        while (node != null) {
+            height++;
+            node = node.isLeaf() ? null : node.getChild(0);
+        }
+        return height;
+    }
+
+    private int countKeys(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = node.getKeyCount();
+        if (!node.isLeaf()) {
+            for (int c = 0; c < node.getChildCount(); c++) {
+                count += countKeys(node.getChild(c));
+            }
+        }
+        return count;
+    }
+}
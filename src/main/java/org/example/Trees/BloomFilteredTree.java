@@ -0,0 +1,204 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Bloom Filtered Tree Wrapper
+ * Puts a CountingBloomFilter in front of any Tree so that contains for a value that is not
+ * there usually never reaches the tree: the filter answers a definite miss with a few counter
+ * probes, where the tree would walk from root to leaf (or, for a Heap, scan every element).
+ * Hits and the rare false positives still go to the tree, so answers are always exact.
+ *
+ * Insert and delete update the filter only when the tree's size shows that they changed it.
+ * When the tree outgrows the filter, or stuck counters and deletes have pushed the expected
+ * false positive rate past twice the target, the filter is rebuilt from the tree's values.
+ *
+ * Values that are equal must have equal hash codes, as for any hash based collection.
+ */
+public class BloomFilteredTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    //
+    // Bloom Filtered Tree Class Setup and Constructors
+    //
+
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Tree<T> tree;
+    private final double targetRate;
+    private CountingBloomFilter<T> filter;
+    private int capacity;
+    private long filteredMisses;  // misses answered by the filter alone
+    private long falsePositives;  // misses the filter let through to the tree
+
+    public BloomFilteredTree(Tree<T> tree) {
+        this(tree, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public BloomFilteredTree(Tree<T> tree, double falsePositiveRate) {
+        if (tree == null) {
+            throw new IllegalArgumentException("Cannot wrap a null tree");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.tree = tree;
+        this.targetRate = falsePositiveRate;
+        rebuild();
+    }
+
+    //
+    // Bloom Filtered Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return tree.type();
+    }
+
+    @Override
+    public Color color() {
+        return tree.color();
+    }
+
+    @Override
+    public boolean mutatingReads() {
+        // contains counts filtered misses and false positives
+        return true;
+    }
+
+    /**
+     * Rebuild
+     * A fresh filter sized for twice the current values, filled from the tree
+     */
+    private void rebuild() {
+        capacity = Math.max(MIN_CAPACITY, 2 * tree.size());
+        filter = new CountingBloomFilter<>(capacity, targetRate);
+        for (T value : tree.inorderTraversal()) {
+            filter.add(value);
+        }
+    }
+
+    private void rebuildIfSaturated() {
+        if (filter.size() > capacity || filter.expectedFalsePositiveRate() > 2 * targetRate) {
+            rebuild();
+        }
+    }
+
+    //
+    // Bloom Filtered Tree Operation Methods
+    //
+
+    @Override
+    public void insert(T value) {
+        // checked here, the filter cannot hash a null the wrapped tree might still take
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        int before = tree.size();
+        tree.insert(value);
+        // the size tells a real insert from a duplicate the tree ignored
+        if (tree.size() != before) {
+            filter.add(value);
+            rebuildIfSaturated();
+        }
+    }
+
+    @Override
+    public boolean delete(T value) {
+        if (value == null || !tree.delete(value)) {
+            return false;
+        }
+        filter.remove(value);
+        rebuildIfSaturated();
+        return true;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        if (!filter.mightContain(value)) {
+            filteredMisses++;
+            return false;
+        }
+        boolean found = tree.contains(value);
+        if (!found) {
+            falsePositives++;
+        }
+        return found;
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+        filter.clear();
+        filteredMisses = 0;
+        falsePositives = 0;
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        return tree.inorderTraversal();
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return tree.getRoot();
+    }
+
+    /**
+     * The wrapped tree, for callers that need its own methods. Changing it directly
+     * leaves the filter stale, call refilter afterwards.
+     */
+    public Tree<T> unwrap() {
+        return tree;
+    }
+
+    /**
+     * Refilter
+     * Rebuilds the filter from the tree, after the tree was changed through unwrap
+     */
+    public void refilter() {
+        rebuild();
+    }
+
+    //
+    // Bloom Filtered Tree Metrics
+    //
+
+    /**
+     * Share of lookups for absent values that the filter let through to the tree, as measured
+     * since the last clear. Zero before any miss.
+     */
+    public double falsePositiveRate() {
+        long misses = filteredMisses + falsePositives;
+        return misses == 0 ? 0 : (double) falsePositives / misses;
+    }
+
+    /**
+     * False positive rate the filter's current saturation implies
+     */
+    public double expectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    public long filteredMisses() {
+        return filteredMisses;
+    }
+
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    public long filterSizeInBytes() {
+        return filter.sizeInBytes();
+    }
+}
@@ -0,0 +1,302 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compressed Int Snapshot Implementation
+ * An immutable, compact copy of a set of int keys, meant for keeping many old versions of a
+ * tree around. It is built from any Tree<Integer> by snapshot(tree).
+ *
+ * The sorted keys are cut into blocks of BLOCK_SIZE:
+ * - the skip index keeps each block's first key and the byte offset of the rest of the block
+ * - the rest of the block is stored as gaps to the previous key, minus one, in LEB128 varints
+ *
+ * Dense keys cost one byte each and no gap takes more than five, against the 50+ bytes of a
+ * boxed key in a node. Lookups binary search the skip index and then
+ * decode at most one block, so contains, rank and range never unpack the whole set.
+ * insert, delete and clear are not supported.
+ */
+public class CompressedIntSnapshot implements Tree<Integer> {
+    private static final int BLOCK_SIZE = 128;  // keys per block, the most a lookup decodes
+
+    private final int[] firstKeys;     // first key of each block
+    private final int[] blockOffsets;  // where each block's gaps start in data
+    private final byte[] data;         // varint gaps, blocks one after the other
+    private final int size;
+
+    //
+    // Compressed Int Snapshot Constructor
+    //
+
+    /**
+     * Compresses values, which must be in strictly ascending order (any tree's inorderTraversal)
+     */
+    public CompressedIntSnapshot(List<Integer> sorted) {
+        if (sorted == null) {
+            throw new IllegalArgumentException("Cannot build from a null list");
+        }
+        this.size = sorted.size();
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.firstKeys = new int[blocks];
+        this.blockOffsets = new int[blocks];
+
+        // worst case is 5 bytes per gap, trimmed once the real length is known
+        byte[] buffer = new byte[Math.max(0, size - blocks) * 5];
+        int length = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            Integer value = sorted.get(i);
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+            if (i > 0 && value <= previous) {
+                throw new IllegalArgumentException("Values must be in strictly ascending order");
+            }
+            if (i % BLOCK_SIZE == 0) {
+                firstKeys[i / BLOCK_SIZE] = value;
+                blockOffsets[i / BLOCK_SIZE] = length;
+            } else {
+                length = writeGap(buffer, length, (long) value - previous - 1);
+            }
+            previous = value;
+        }
+        this.data = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Compressed copy of the tree's current values
+     */
+    public static CompressedIntSnapshot snapshot(Tree<Integer> tree) {
+        return new CompressedIntSnapshot(tree.inorderTraversal());
+    }
+
+    //
+    // Compressed Int Snapshot Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Compressed Snapshot";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DARKSALMON;
+    }
+
+    /**
+     * Bytes held by the keys: the compressed gaps plus the skip index
+     */
+    public long sizeInBytes() {
+        return data.length + 8L * firstKeys.length;
+    }
+
+    // Gaps are below 2^32, so they fit in at most five 7-bit groups
+    private static int writeGap(byte[] buffer, int offset, long gap) {
+        while (gap >= 0x80) {
+            buffer[offset++] = (byte) (gap | 0x80);
+            gap >>>= 7;
+        }
+        buffer[offset++] = (byte) gap;
+        return offset;
+    }
+
+    // Last block whose first key is <= value, -1 if value is below every key
+    private int findBlock(int value) {
+        int lo = 0;
+        int hi = firstKeys.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (firstKeys[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    //
+    // Compressed Int Snapshot Search Methods
+    //
+
+    public boolean contains(int value) {
+        int block = findBlock(value);
+        if (block < 0) {
+            return false;
+        }
+        Cursor cursor = new Cursor(block);
+        while (cursor.hasNext()) {
+            int key = cursor.nextInt();
+            if (key >= value) {
+                return key == value;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    /**
+     * Rank
+     * Number of keys strictly smaller than value
+     */
+    public int rank(int value) {
+        int block = findBlock(value);
+        if (block < 0) {
+            return 0;
+        }
+        Cursor cursor = new Cursor(block);
+        int rank = block * BLOCK_SIZE;
+        while (cursor.hasNext() && cursor.nextInt() < value) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Range
+     * Every key in [lo, hi] in ascending order, decoded lazily one block at a time
+     */
+    public PrimitiveIterator.OfInt range(int lo, int hi) {
+        if (lo > hi || size == 0) {
+            return new Cursor(firstKeys.length, hi);
+        }
+        Cursor cursor = new Cursor(Math.max(0, findBlock(lo)), hi);
+        cursor.skipBelow(lo);
+        return cursor;
+    }
+
+    /**
+     * Every key in ascending order
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new Cursor(0);
+    }
+
+    //
+    // Compressed Int Snapshot Operation Methods
+    //
+
+    @Override
+    public void insert(Integer value) {
+        throw new UnsupportedOperationException("Compressed snapshot is read-only");
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        throw new UnsupportedOperationException("Compressed snapshot is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Compressed snapshot is read-only");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        iterator().forEachRemaining((int key) -> result.add(key));
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        // blocks of packed gaps, not drawn as a tree
+        return null;
+    }
+
+    /**
+     * Decodes keys in order from the start of a block onwards, stopping after a bound
+     */
+    private final class Cursor implements PrimitiveIterator.OfInt {
+        private final int hi;  // last key to return
+        private int index;     // position of the next key in the whole set
+        private int offset;    // next byte to read in data
+        private int key;       // last key decoded
+        private boolean pending;
+        private int pendingKey;
+
+        Cursor(int block) {
+            this(block, Integer.MAX_VALUE);
+        }
+
+        Cursor(int block, int hi) {
+            this.hi = hi;
+            this.index = block * BLOCK_SIZE;
+            if (block < firstKeys.length) {
+                this.offset = blockOffsets[block];
+            }
+        }
+
+        // Reads past every key below lo, keeping the first one that is not
+        void skipBelow(int lo) {
+            while (hasNext()) {
+                int next = nextInt();
+                if (next >= lo) {
+                    pending = true;
+                    pendingKey = next;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending) {
+                return true;
+            }
+            if (index >= size) {
+                return false;
+            }
+            pendingKey = decode();
+            pending = pendingKey <= hi;
+            if (!pending) {
+                index = size;  // past the bound, nothing more to return
+            }
+            return pending;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            pending = false;
+            return pendingKey;
+        }
+
+        // Next key in the set, starting a fresh block from the skip index when needed
+        private int decode() {
+            if (index % BLOCK_SIZE == 0) {
+                key = firstKeys[index / BLOCK_SIZE];
+                offset = blockOffsets[index / BLOCK_SIZE];
+            } else {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[offset++];
+                    gap |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                key = (int) (key + gap + 1);
+            }
+            index++;
+            return key;
+        }
+    }
+}
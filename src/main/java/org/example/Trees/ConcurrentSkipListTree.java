@@ -0,0 +1,403 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Concurrent Skip List Implementation
+ * A lock-free sorted set (Herlihy and Shavit style) that many threads can insert into,
+ * delete from and search at the same time without any global lock.
+ *
+ * Properties:
+ * 1. The bottom level is a sorted linked list of every value
+ * 2. Each higher level is an "express lane" holding a random half of the level below it
+ * 3. Each forward pointer carries a mark bit: a node is deleted by marking its pointers
+ *    top-down, and any thread that walks past a marked node unlinks it with a CAS
+ * 4. contains never writes and never retries, iteration is weakly consistent
+ */
+public class ConcurrentSkipListTree<T extends Comparable<T>> implements Tree<T>, Iterable<T>, Serializable {
+    //
+    // Skip List Class Setup
+    //
+
+    private static final int MAX_LEVEL = 24;  // enough express lanes for 2^24 values at p = 1/2
+
+    private transient Node<T> head;
+    private transient AtomicInteger size;
+
+    /**
+     * Node class for Skip List
+     * A tower of forward pointers, one per level the node takes part in
+     */
+    private static final class Node<T> {
+        final T value;  // null only for the head
+        final AtomicMarkableReference<Node<T>>[] next;
+        final int topLevel;
+
+        @SuppressWarnings("unchecked")
+        Node(T value, int topLevel) {
+            this.value = value;
+            this.topLevel = topLevel;
+            this.next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference<?>[topLevel + 1];
+            for (int level = 0; level <= topLevel; level++) {
+                next[level] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+    }
+
+    //
+    // Skip List Constructor
+    //
+
+    public ConcurrentSkipListTree() {
+        this.head = new Node<>(null, MAX_LEVEL - 1);
+        this.size = new AtomicInteger();
+    }
+
+    //
+    // Skip List Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Skip List";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DARKORANGE;
+    }
+
+    //
+    // Skip List Operation Methods
+    //
+
+    /**
+     * Insert
+     * Links the new node into the bottom level with one CAS (that is the moment it becomes
+     * visible), then links it into its express lanes one level at a time.
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+
+        int topLevel = randomLevel();
+        Node<T>[] preds = newTower();
+        Node<T>[] succs = newTower();
+
+        while (true) {
+            // Value already exists, don't insert
+            if (find(value, preds, succs)) {
+                return;
+            }
+
+            Node<T> node = new Node<>(value, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level].set(succs[level], false);
+            }
+
+            // bottom level first: once this CAS succeeds the value is in the set
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;  // someone changed the neighborhood, search again
+            }
+            size.incrementAndGet();
+
+            // then the express lanes, bottom up
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    // keep our own forward pointer in step with the latest successor
+                    Node<T> current = node.next[level].getReference();
+                    if (current != succs[level] && !node.next[level].compareAndSet(current, succs[level], false, false)) {
+                        return;  // pointer got marked, a delete already claimed this node
+                    }
+                    if (preds[level].next[level].compareAndSet(succs[level], node, false, false)) {
+                        break;
+                    }
+                    find(value, preds, succs);
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * Delete
+     * Marks the node's express lane pointers top-down, then races to mark the bottom pointer.
+     * The thread whose CAS marks the bottom level owns the delete; the physical unlinking is
+     * finished by find, by this thread or by anyone else who passes by.
+     */
+    @Override
+    public boolean delete(T value) {
+        if (value == null) {
+            return false;
+        }
+
+        Node<T>[] preds = newTower();
+        Node<T>[] succs = newTower();
+        boolean[] marked = {false};
+
+        if (!find(value, preds, succs)) {
+            return false;
+        }
+        Node<T> victim = succs[0];
+
+        // mark every express lane pointer so no new node gets linked after the victim
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node<T> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+
+        // marking the bottom pointer is the linearization point of the delete
+        Node<T> succ = victim.next[0].get(marked);
+        while (true) {
+            boolean markedByMe = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (markedByMe) {
+                size.decrementAndGet();
+                find(value, preds, succs);  // unlinks the victim on every level
+                return true;
+            }
+            if (marked[0]) {
+                return false;  // another thread deleted it first
+            }
+        }
+    }
+
+    /**
+     * Contains
+     * Wait-free: walks down the lanes, stepping over marked nodes without unlinking them.
+     */
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+
+        boolean[] marked = {false};
+        Node<T> pred = head;
+        Node<T> curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null) {
+                Node<T> succ = curr.next[level].get(marked);
+                if (marked[0]) {
+                    curr = succ;  // logically deleted, step over it
+                } else if (curr.value.compareTo(value) < 0) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr != null && curr.value.compareTo(value) == 0;
+    }
+
+    /**
+     * Finds the predecessor and successor of value on every level, unlinking any marked
+     * nodes on the way. Returns true if an unmarked node holding value is on the bottom level.
+     */
+    private boolean find(T value, Node<T>[] preds, Node<T>[] succs) {
+        boolean[] marked = {false};
+
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            Node<T> curr = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<T> succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        // curr is being deleted, help by unlinking it at this level
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;  // pred changed or got marked itself, start over
+                        }
+                        curr = succ;
+                    } else if (curr.value.compareTo(value) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.value.compareTo(value) == 0;
+        }
+    }
+
+    /**
+     * Clear
+     * Swaps in an empty list. Not atomic with respect to writers running at the same time.
+     */
+    @Override
+    public void clear() {
+        head = new Node<>(null, MAX_LEVEL - 1);
+        size.set(0);
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Inorder Traversal
+     * The bottom level is already sorted, so this is a single walk along it
+     */
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>();
+        for (T value : this) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Weakly consistent iterator over the bottom level: never throws because of concurrent
+     * writers, sees every value present for the whole walk, and may or may not see the rest.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = nextLive(head);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = next.value;
+                next = nextLive(next);
+                return value;
+            }
+        };
+    }
+
+    // The first unmarked node after node on the bottom level
+    private Node<T> nextLive(Node<T> node) {
+        Node<T> curr = node.next[0].getReference();
+        while (curr != null && curr.next[0].isMarked()) {
+            curr = curr.next[0].getReference();
+        }
+        return curr;
+    }
+
+    //
+    // Skip List Specific Methods
+    //
+
+    // Geometric level with p = 1/2: the number of trailing zero bits of a random int
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newTower() {
+        return (Node<T>[]) new Node<?>[MAX_LEVEL];
+    }
+
+    //
+    // Skip List Visualization
+    //
+
+    /**
+     * Root for the visualizer: the head tower at the highest lane in use.
+     * Going left steps down a tower, going right follows a lane to the next tower that tops out
+     * on that lane, so every (value, level) cell of the list is drawn exactly once.
+     */
+    @Override
+    public TreeNode<T> getRoot() {
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            if (head.next[level].getReference() != null) {
+                return new LaneNode(head, level);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One cell of the skip list (a node on one level) seen as a binary tree node
+     */
+    private final class LaneNode implements TreeNode<T> {
+        private final Node<T> node;
+        private final int level;
+
+        LaneNode(Node<T> node, int level) {
+            this.node = node;
+            this.level = level;
+        }
+
+        @Override
+        public T getValue() {
+            return node.value;
+        }
+
+        // down the tower to the next lane
+        @Override
+        public TreeNode<T> getLeft() {
+            return level > 0 ? new LaneNode(node, level - 1) : null;
+        }
+
+        // along the lane, but only to a tower whose top is this lane; taller towers are reached from above
+        @Override
+        public TreeNode<T> getRight() {
+            Node<T> curr = node.next[level].getReference();
+            while (curr != null && curr.next[level].isMarked()) {
+                curr = curr.next[level].getReference();
+            }
+            return (curr != null && curr.topLevel == level) ? new LaneNode(curr, level) : null;
+        }
+
+        @Override
+        public String getColor() {
+            if (node == head) {
+                return "HEAD";
+            }
+            return level == 0 ? "BOTTOM" : "EXPRESS";
+        }
+    }
+
+    //
+    // Skip List Serialization
+    //
+
+    // Atomic references are not serializable, so the list is saved as its values and rebuilt on load
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(new ArrayList<>(inorderTraversal()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        head = new Node<>(null, MAX_LEVEL - 1);
+        size = new AtomicInteger();
+        for (T value : (List<T>) in.readObject()) {
+            insert(value);
+        }
+    }
+}
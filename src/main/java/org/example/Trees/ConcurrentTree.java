@@ -0,0 +1,154 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Concurrent Tree Wrapper
+ * Makes a Tree safe to share between threads without serializing every read.
+ *
+ * Reads that walk the tree (contains, inorderTraversal, getRoot and anything passed to read)
+ * take the read lock of a StampedLock, so any number of them run side by side while writers
+ * wait. Insert, delete and clear take the write lock. size is a single field read and is first
+ * tried under an optimistic stamp, which costs no lock write at all, falling back to the read
+ * lock if a writer got in.
+ *
+ * Some trees change themselves while reading: a splay tree splays on contains, a Bloom filtered
+ * tree counts its misses, a mapped tree moves pages through its cache. Those report
+ * Tree.mutatingReads, and every read of them takes the write lock instead.
+ */
+public class ConcurrentTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    //
+    // Concurrent Tree Class Setup and Constructor
+    //
+
+    private final Tree<T> tree;
+    private final StampedLock lock = new StampedLock();
+    private final boolean exclusiveReads;  // the wrapped tree writes to itself when read
+
+    public ConcurrentTree(Tree<T> tree) {
+        if (tree == null) {
+            throw new IllegalArgumentException("Cannot wrap a null tree");
+        }
+        this.tree = tree;
+        this.exclusiveReads = tree.mutatingReads();
+    }
+
+    //
+    // Concurrent Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return tree.type();
+    }
+
+    @Override
+    public Color color() {
+        return tree.color();
+    }
+
+    //
+    // Concurrent Tree Locking Methods
+    //
+
+    /**
+     * Read
+     * Runs a read-only action against the wrapped tree under the read lock, or under the
+     * write lock if the tree changes itself when read.
+     */
+    public <R> R read(Function<? super Tree<T>, ? extends R> reader) {
+        if (exclusiveReads) {
+            return write(reader);
+        }
+        long stamp = lock.readLock();
+        try {
+            return reader.apply(tree);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Write
+     * Runs an action against the wrapped tree while holding the write lock,
+     * for operations outside the Tree interface such as deleteRange or split.
+     */
+    public <R> R write(Function<? super Tree<T>, ? extends R> writer) {
+        long stamp = lock.writeLock();
+        try {
+            return writer.apply(tree);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //
+    // Concurrent Tree Operation Methods
+    //
+
+    @Override
+    public void insert(T value) {
+        write(t -> {
+            t.insert(value);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return write(t -> t.delete(value));
+    }
+
+    @Override
+    public void clear() {
+        write(t -> {
+            t.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return read(t -> t.contains(value));
+    }
+
+    /**
+     * Optimistic first: size only copies a field, so a stamp that still validates means the copy is good
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L && !exclusiveReads) {
+            int size = tree.size();
+            if (lock.validate(stamp)) {
+                return size;
+            }
+        }
+        return read(Tree::size);
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        return read(Tree::inorderTraversal);
+    }
+
+    /**
+     * The returned node is live: walking it while other threads write is not safe,
+     * use read to work with the structure under the lock instead.
+     */
+    @Override
+    public TreeNode<T> getRoot() {
+        return read(Tree::getRoot);
+    }
+
+    /**
+     * The wrapped tree, for callers that need its own methods and do their own locking
+     */
+    public Tree<T> unwrap() {
+        return tree;
+    }
+}
@@ -0,0 +1,418 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent 2-4 Tree Implementation (Lehman-Yao B-link tree)
+ * A 2-4 tree that many threads can insert into, delete from and search at the same time.
+ *
+ * Properties:
+ * - Each node has at most 3 keys, all leaves are at the same level
+ * - Values live in the leaves, internal nodes only hold separator keys
+ * - Every node knows its high key (the largest value it may hold) and has a link to its
+ *   right sibling, so a search that lands on a node that has just split simply moves right
+ * - Each node's contents are replaced as a whole with one volatile write, so readers never
+ *   lock and never see a half-updated node
+ * - Writers latch one node at a time on the way down and couple latches (child, then parent)
+ *   only while pushing a split upward, the same top-down shape as Tree24.splitChild
+ * - Deletes remove the value from its leaf and never merge nodes, as in Lehman-Yao
+ */
+public class ConcurrentTree24<T extends Comparable<T>> implements Tree<T>, Serializable {
+    //
+    // Concurrent 2-4 Tree Class Setup
+    //
+
+    private static final int MAX_KEYS = 3;
+
+    private transient volatile Node<T> root;
+    private transient AtomicInteger size;
+    private transient Object rootLock;
+
+    /**
+     * NODE CLASS for Concurrent 2-4 Tree
+     * A latch for writers and the current contents for everyone
+     */
+    private static final class Node<T extends Comparable<T>> {
+        final int level;  // 0 for leaves
+        final ReentrantLock latch = new ReentrantLock();
+        volatile Contents<T> contents;
+
+        Node(int level, Contents<T> contents) {
+            this.level = level;
+            this.contents = contents;
+        }
+
+        boolean isLeaf() {
+            return level == 0;
+        }
+    }
+
+    /**
+     * Immutable contents of a node, swapped in whole by the writer holding the node's latch
+     */
+    private static final class Contents<T extends Comparable<T>> {
+        final Object[] keys;       // values in a leaf, separators in an internal node
+        final Node<T>[] children;  // internal nodes only, one more than keys; child i holds values <= keys[i]
+        final T highKey;           // largest value this node may hold, null means no upper bound
+        final Node<T> right;       // right sibling on the same level, null at the end of the level
+
+        Contents(Object[] keys, Node<T>[] children, T highKey, Node<T> right) {
+            this.keys = keys;
+            this.children = children;
+            this.highKey = highKey;
+            this.right = right;
+        }
+
+        @SuppressWarnings("unchecked")
+        T key(int index) {
+            return (T) keys[index];
+        }
+
+        // true if value is past this node's range and lives further right
+        boolean isPast(T value) {
+            return highKey != null && value.compareTo(highKey) > 0;
+        }
+
+        // first index whose key is >= value
+        int lowerBound(T value) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key(mid).compareTo(value) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    //
+    // Concurrent 2-4 Tree Class Constructor
+    //
+
+    public ConcurrentTree24() {
+        this.root = emptyLeaf();
+        this.size = new AtomicInteger();
+        this.rootLock = new Object();
+    }
+
+    //
+    // Concurrent 2-4 Tree Class Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Concurrent 2-4 Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.STEELBLUE;
+    }
+
+    //
+    // Concurrent 2-4 Tree Class Operation Methods
+    //
+
+    /**
+     * Contains
+     * Lock-free: reads each node's contents once and moves right whenever the value
+     * is past a node's high key, which covers any split that happened since the parent was read.
+     */
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        Node<T> node = root;
+        while (true) {
+            Contents<T> contents = node.contents;
+            if (contents.isPast(value)) {
+                node = contents.right;
+            } else if (node.isLeaf()) {
+                int i = contents.lowerBound(value);
+                return i < contents.keys.length && contents.key(i).compareTo(value) == 0;
+            } else {
+                node = contents.children[contents.lowerBound(value)];
+            }
+        }
+    }
+
+    /**
+     * Insert
+     * Descends without latches remembering the path, latches the leaf and adds the value.
+     * A full node is split into two and the separator is pushed into the parent, holding the
+     * child's latch until the parent's is taken so no other writer can slip in between.
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = descend(value, 0, path);
+        node.latch.lock();
+        node = moveRight(node, value);
+
+        // Value already exists, don't insert
+        Contents<T> contents = node.contents;
+        int i = contents.lowerBound(value);
+        if (i < contents.keys.length && contents.key(i).compareTo(value) == 0) {
+            node.latch.unlock();
+            return;
+        }
+        size.incrementAndGet();
+
+        T key = value;
+        Node<T> newChild = null;
+        while (true) {
+            // Case 1: room left, publish the new contents and stop
+            Contents<T> grown = withKey(node.contents, key, newChild);
+            if (grown.keys.length <= MAX_KEYS) {
+                node.contents = grown;
+                node.latch.unlock();
+                return;
+            }
+
+            // Case 2: full, split into node and a new right sibling
+            int mid = grown.keys.length / 2;
+            Node<T> sibling;
+            T separator;
+            if (node.isLeaf()) {
+                separator = grown.key(mid - 1);
+                sibling = new Node<>(0, new Contents<>(
+                        Arrays.copyOfRange(grown.keys, mid, grown.keys.length), null, grown.highKey, grown.right));
+                node.contents = new Contents<>(Arrays.copyOfRange(grown.keys, 0, mid), null, separator, sibling);
+            } else {
+                // middle key moves up, like splitChild
+                separator = grown.key(mid - 1);
+                sibling = new Node<>(node.level, new Contents<>(
+                        Arrays.copyOfRange(grown.keys, mid, grown.keys.length),
+                        Arrays.copyOfRange(grown.children, mid, grown.children.length), grown.highKey, grown.right));
+                node.contents = new Contents<>(Arrays.copyOfRange(grown.keys, 0, mid - 1),
+                        Arrays.copyOfRange(grown.children, 0, mid), separator, sibling);
+            }
+
+            // Case 3: push the separator up, still holding node's latch until the parent's is taken
+            Node<T> parent = path.isEmpty() ? parentFor(node, separator, sibling) : path.pop();
+            if (parent == null) {
+                node.latch.unlock();  // node was the root and a new root now sits above it
+                return;
+            }
+            parent.latch.lock();
+            parent = moveRight(parent, separator);
+            node.latch.unlock();
+
+            node = parent;
+            key = separator;
+            newChild = sibling;
+        }
+    }
+
+    /**
+     * Delete
+     * Latches the leaf and drops the value. Nodes are never merged, a leaf may go empty and
+     * keep covering its key range.
+     */
+    @Override
+    public boolean delete(T value) {
+        if (value == null) {
+            return false;
+        }
+
+        Node<T> node = descend(value, 0, null);
+        node.latch.lock();
+        try {
+            node = moveRight(node, value);
+            Contents<T> contents = node.contents;
+            int i = contents.lowerBound(value);
+            if (i >= contents.keys.length || contents.key(i).compareTo(value) != 0) {
+                return false;
+            }
+
+            Object[] keys = new Object[contents.keys.length - 1];
+            System.arraycopy(contents.keys, 0, keys, 0, i);
+            System.arraycopy(contents.keys, i + 1, keys, i, keys.length - i);
+            node.contents = new Contents<>(keys, null, contents.highKey, contents.right);
+            size.decrementAndGet();
+            return true;
+        } finally {
+            node.latch.unlock();
+        }
+    }
+
+    /**
+     * Clear
+     * Swaps in an empty tree. Not atomic with respect to writers running at the same time.
+     */
+    @Override
+    public void clear() {
+        synchronized (rootLock) {
+            root = emptyLeaf();
+            size.set(0);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Inorder Traversal
+     * Walks the leaf level left to right through the sibling links
+     */
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>();
+        Node<T> node = root;
+        while (!node.isLeaf()) {
+            node = node.contents.children[0];
+        }
+        while (node != null) {
+            Contents<T> contents = node.contents;
+            for (int i = 0; i < contents.keys.length; i++) {
+                result.add(contents.key(i));
+            }
+            node = contents.right;
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        // like Tree24, the multiway nodes don't fit the binary TreeNode interface
+        return null;
+    }
+
+    //
+    // Concurrent 2-4 Tree Class Navigation
+    //
+
+    /**
+     * Lock-free descent from the root to the node on the given level whose range holds value.
+     * The internal nodes passed through are pushed onto path, lowest last, if a path is given.
+     */
+    private Node<T> descend(T value, int level, Deque<Node<T>> path) {
+        Node<T> node = root;
+        while (true) {
+            Contents<T> contents = node.contents;
+            if (contents.isPast(value)) {
+                node = contents.right;
+            } else if (node.level == level) {
+                return node;
+            } else {
+                if (path != null) {
+                    path.push(node);
+                }
+                node = contents.children[contents.lowerBound(value)];
+            }
+        }
+    }
+
+    // Moves right from a latched node until value is within its range, latching the new node before letting go of the old
+    private Node<T> moveRight(Node<T> node, T value) {
+        while (true) {
+            Contents<T> contents = node.contents;
+            if (!contents.isPast(value)) {
+                return node;
+            }
+            Node<T> next = contents.right;
+            next.latch.lock();
+            node.latch.unlock();
+            node = next;
+        }
+    }
+
+    /**
+     * Parent for a split node whose descent path has run out. If node is the root, a new
+     * root is placed above node and sibling and null is returned; otherwise the tree has
+     * grown since the descent and the parent is found again from the current root.
+     */
+    private Node<T> parentFor(Node<T> node, T separator, Node<T> sibling) {
+        boolean interrupted = false;
+        try {
+            synchronized (rootLock) {
+                // node sits right of a root whose splitter has not put the new root in place yet
+                while (root.level == node.level && root != node) {
+                    try {
+                        rootLock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+
+                if (root.level > node.level) {
+                    return descend(separator, node.level + 1, null);
+                }
+
+                @SuppressWarnings("unchecked")
+                Node<T>[] children = (Node<T>[]) new Node<?>[]{node, sibling};
+                root = new Node<>(node.level + 1, new Contents<>(new Object[]{separator}, children, null, null));
+                rootLock.notifyAll();
+                return null;
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Copy of contents with key (and for internal nodes the child to its right) added in order
+    private Contents<T> withKey(Contents<T> contents, T key, Node<T> rightChild) {
+        int i = contents.lowerBound(key);
+        Object[] keys = new Object[contents.keys.length + 1];
+        System.arraycopy(contents.keys, 0, keys, 0, i);
+        keys[i] = key;
+        System.arraycopy(contents.keys, i, keys, i + 1, contents.keys.length - i);
+
+        Node<T>[] children = null;
+        if (contents.children != null) {
+            children = Arrays.copyOf(contents.children, contents.children.length + 1);
+            System.arraycopy(contents.children, i + 1, children, i + 2, contents.children.length - i - 1);
+            children[i + 1] = rightChild;
+        }
+        return new Contents<>(keys, children, contents.highKey, contents.right);
+    }
+
+    private static <T extends Comparable<T>> Node<T> emptyLeaf() {
+        return new Node<T>(0, new Contents<T>(new Object[0], null, null, null));
+    }
+
+    //
+    // Concurrent 2-4 Tree Class Serialization
+    //
+
+    // Latched nodes are rebuilt on load, only the values are saved
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(new ArrayList<>(inorderTraversal()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        root = emptyLeaf();
+        size = new AtomicInteger();
+        rootLock = new Object();
+        for (T value : (List<T>) in.readObject()) {
+            insert(value);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Counting Bloom Filter
+ * A compact set sketch that answers "definitely absent" or "maybe present" in O(k), k being the
+ * number of hash functions. Each value sets k counters chosen by double hashing of its hashCode;
+ * a value is maybe present only if all k of its counters are above zero.
+ *
+ * Counters instead of bits make remove possible. They are 4 bits wide, sixteen to a long, and a
+ * counter that reaches 15 sticks there: it can no longer be told how many values share it, so
+ * remove leaves it alone. A stuck counter can only cause false positives, never false negatives.
+ *
+ * Values that are equal must have equal hash codes, as for any hash based collection.
+ */
+public class CountingBloomFilter<T> implements Serializable {
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long[] counters;
+    private final int counterCount;
+    private final int hashCount;
+    private int size;      // values added and not removed
+    private int occupied;  // counters above zero
+
+    //
+    // Counting Bloom Filter Constructors
+    //
+
+    /**
+     * Sized so that expectedSize values give about the requested false positive rate
+     */
+    public CountingBloomFilter(int expectedSize, double falsePositiveRate) {
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Expected size must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedSize * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counterCount = (int) Math.min(Math.max(bits, COUNTERS_PER_WORD), Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedSize * ln2));
+        this.counters = new long[(counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+    }
+
+    //
+    // Counting Bloom Filter Helper Methods
+    //
+
+    // Murmur3 finalizer, spreads weak hash codes such as small Integers over all 32 bits
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    // The i-th counter of a value, h1 + i * h2 (Kirsch and Mitzenmacher)
+    private int index(int h1, int h2, int i) {
+        return (int) (((h1 & 0xFFFFFFFFL) + i * (h2 & 0xFFFFFFFFL)) % counterCount);
+    }
+
+    private int get(int index) {
+        return (int) (counters[index / COUNTERS_PER_WORD] >>> (index % COUNTERS_PER_WORD * COUNTER_BITS) & COUNTER_MASK);
+    }
+
+    private void set(int index, int count) {
+        int shift = index % COUNTERS_PER_WORD * COUNTER_BITS;
+        int word = index / COUNTERS_PER_WORD;
+        counters[word] = counters[word] & ~(COUNTER_MASK << shift) | (long) count << shift;
+    }
+
+    //
+    // Counting Bloom Filter Operation Methods
+    //
+
+    public void add(T value) {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1, h2, i);
+            int count = get(index);
+            if (count == 0) {
+                occupied++;
+            }
+            if (count < COUNTER_MASK) {
+                set(index, count + 1);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Remove
+     * Only for a value that was added before, removing anything else corrupts the filter
+     */
+    public void remove(T value) {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1, h2, i);
+            int count = get(index);
+            // a stuck counter no longer knows how many values it holds
+            if (count > 0 && count < COUNTER_MASK) {
+                set(index, count - 1);
+                if (count == 1) {
+                    occupied--;
+                }
+            }
+        }
+        size--;
+    }
+
+    /**
+     * False means the value was never added, true means it may have been
+     */
+    public boolean mightContain(T value) {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            if (get(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+        size = 0;
+        occupied = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Share of counters above zero, the chance that one probe of an absent value hits
+     */
+    public double saturation() {
+        return (double) occupied / counterCount;
+    }
+
+    /**
+     * False positive rate implied by the current saturation, all k probes hitting
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(saturation(), hashCount);
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long sizeInBytes() {
+        return (long) counters.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frozen Tree Implementation
+ * An immutable, read-optimized snapshot of a sorted set, made by Tree.freeze().
+ *
+ * The keys are stored in Eytzinger (BFS) order: slot 1 is the root and slot k has its
+ * children in slots 2k and 2k + 1, so the implicit tree is a complete BST with no node
+ * objects or pointers at all. Integer keys go into an int[], anything else into an Object[].
+ *
+ * Search walks down with k = 2k + (key[k] < x), a step with no unpredictable branch, and the
+ * top levels of the tree share a handful of cache lines that stay hot across lookups. The
+ * path taken is spelled out in the bits of k (1 = went right), so the answer is recovered
+ * at the end by stripping the last turns off k:
+ * - ceiling: drop the trailing right turns and the left turn before them
+ * - floor: drop the trailing left turns and the right turn before them
+ *
+ * Built in O(n) from an in-order sequence. insert, delete and clear are not supported.
+ */
+public class FrozenTree<T extends Comparable<T>> implements Tree<T> {
+    private final int[] ints;      // Eytzinger order from slot 1 when every key is an Integer, else null
+    private final Object[] keys;   // Eytzinger order from slot 1 otherwise, else null
+    private final int size;
+
+    //
+    // Frozen Tree Constructor
+    //
+
+    /**
+     * Lays out values, which must be in strictly ascending order (any tree's inorderTraversal)
+     */
+    public FrozenTree(List<T> sorted) {
+        if (sorted == null) {
+            throw new IllegalArgumentException("Cannot build from a null list");
+        }
+        Object[] values = sorted.toArray();
+        boolean allInts = true;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+            if (i > 0 && asT(values[i - 1]).compareTo(asT(values[i])) >= 0) {
+                throw new IllegalArgumentException("Values must be in strictly ascending order");
+            }
+            allInts &= values[i] instanceof Integer;
+        }
+
+        this.size = values.length;
+        if (allInts && size > 0) {
+            this.ints = new int[size + 1];
+            this.keys = null;
+        } else {
+            this.ints = null;
+            this.keys = new Object[size + 1];
+        }
+        layout(values, 0, 1);
+    }
+
+    // In-order walk over the slots, handing out the sorted values one by one; returns the next value index
+    private int layout(Object[] values, int next, int slot) {
+        if (slot > size) {
+            return next;
+        }
+        next = layout(values, next, 2 * slot);
+        if (ints != null) {
+            ints[slot] = (Integer) values[next];
+        } else {
+            keys[slot] = values[next];
+        }
+        return layout(values, next + 1, 2 * slot + 1);
+    }
+
+    //
+    // Frozen Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Frozen Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.LIGHTSEAGREEN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T asT(Object value) {
+        return (T) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(int slot) {
+        return ints != null ? (T) Integer.valueOf(ints[slot]) : (T) keys[slot];
+    }
+
+    //
+    // Frozen Tree Search Methods
+    //
+
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        int slot = ceilingSlot(value);
+        return slot != 0 && at(slot).compareTo(value) == 0;
+    }
+
+    /**
+     * Smallest value >= value, or null if there is none
+     */
+    public T ceiling(T value) {
+        if (value == null) {
+            return null;
+        }
+        int slot = ceilingSlot(value);
+        return slot == 0 ? null : at(slot);
+    }
+
+    /**
+     * Largest value <= value, or null if there is none
+     */
+    public T floor(T value) {
+        if (value == null) {
+            return null;
+        }
+        int slot = floorSlot(value);
+        return slot == 0 ? null : at(slot);
+    }
+
+    // Slot of the first key >= value, 0 if none: descend right while key < value
+    private int ceilingSlot(T value) {
+        int k = 1;
+        if (ints != null && value instanceof Integer) {
+            int x = (Integer) value;
+            while (k <= size) {
+                k = 2 * k + (ints[k] < x ? 1 : 0);
+            }
+        } else {
+            while (k <= size) {
+                k = 2 * k + (at(k).compareTo(value) < 0 ? 1 : 0);
+            }
+        }
+        // the last left turn is the answer: drop the trailing 1 bits and the 0 before them
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // Slot of the last key <= value, 0 if none: descend right while key <= value
+    private int floorSlot(T value) {
+        int k = 1;
+        if (ints != null && value instanceof Integer) {
+            int x = (Integer) value;
+            while (k <= size) {
+                k = 2 * k + (ints[k] <= x ? 1 : 0);
+            }
+        } else {
+            while (k <= size) {
+                k = 2 * k + (at(k).compareTo(value) <= 0 ? 1 : 0);
+            }
+        }
+        // the last right turn is the answer: drop the trailing 0 bits and the 1 before them
+        return k >>> (Integer.numberOfTrailingZeros(k) + 1);
+    }
+
+    //
+    // Frozen Tree Operation Methods
+    //
+
+    @Override
+    public void insert(T value) {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    @Override
+    public boolean delete(T value) {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        inorderTraversal(1, result);
+        return result;
+    }
+
+    private void inorderTraversal(int slot, List<T> result) {
+        if (slot > size) {
+            return;
+        }
+        inorderTraversal(2 * slot, result);
+        result.add(at(slot));
+        inorderTraversal(2 * slot + 1, result);
+    }
+
+    /**
+     * Already frozen
+     */
+    @Override
+    public FrozenTree<T> freeze() {
+        return this;
+    }
+
+    //
+    // Frozen Tree Visualization
+    //
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return size == 0 ? null : new SlotView(1);
+    }
+
+    /**
+     * A slot seen as a TreeNode for the visualizer, its children are slots 2k and 2k + 1
+     */
+    private final class SlotView implements TreeNode<T> {
+        private final int slot;
+
+        SlotView(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public T getValue() {
+            return at(slot);
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            return 2 * slot <= size ? new SlotView(2 * slot) : null;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            return 2 * slot + 1 <= size ? new SlotView(2 * slot + 1) : null;
+        }
+
+        @Override
+        public String getColor() {
+            return "FROZEN";
+        }
+    }
+}
@@ -70,6 +70,14 @@ public abstract class Heap<T extends Comparable<T>> implements Tree<T> , Seriali
         return new ArrayList<>(heap);
     }
 
+    /**
+     * The heap array is not in order and may repeat values, so it is sorted and deduplicated first
+     */
+    @Override
+    public FrozenTree<T> freeze() {
+        return new FrozenTree<>(heap.stream().sorted().distinct().toList());
+    }
+
     @Override
     public TreeNode<T> getRoot() {
         return heap.isEmpty() ? null : new HeapNode(0);
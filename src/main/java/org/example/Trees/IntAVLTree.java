@@ -0,0 +1,387 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive int AVL Tree Implementation
+ * Same balancing as AVLTree, but for int keys with no object per node. Nodes live in
+ * parallel arrays (key, left, right, height) and are referred to by their int handle,
+ * the index into those arrays. Handle 0 is NIL, the empty subtree, so a fresh node's
+ * children are simply 0.
+ *
+ * A node costs 13 bytes of array space instead of an AVLTree.Node plus a boxed Integer,
+ * and neighbouring nodes sit next to each other in memory. Slots freed by delete go on a
+ * free list, chained through the left array, and are reused by the next inserts.
+ */
+public class IntAVLTree implements Tree<Integer>, Serializable {
+    //
+    // Int AVL Tree Class Setup
+    //
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // node arena: one slot per node, slot 0 is NIL
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private byte[] heights;  // an AVL tree of 2^31 nodes is less than 45 levels tall
+
+    private int root;
+    private int size;
+    private int nextSlot;  // first slot never handed out
+    private int freeList;  // most recently freed slot, NIL if none
+
+    //
+    // Int AVL Tree Constructor
+    //
+
+    public IntAVLTree() {
+        reset();
+    }
+
+    //
+    // Int AVL Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Int AVL Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DARKCYAN;
+    }
+
+    //
+    // Int AVL Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        root = insert(root, value);
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    private int insert(int node, int value) {
+        // 1. Perform standard BST insertion
+        if (node == NIL) {
+            size++;
+            return allocate(value);
+        }
+
+        // the arrays may grow during the call, so the child is stored only once it returns
+        if (value < keys[node]) {
+            int child = insert(left[node], value);
+            left[node] = child;
+        } else if (value > keys[node]) {
+            int child = insert(right[node], value);
+            right[node] = child;
+        } else {
+            // Duplicate value, don't insert
+            return node;
+        }
+
+        // 2. Update height and restore the balance if needed
+        return rebalance(node);
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(int value) {
+        int initialSize = size;
+        root = delete(root, value);
+        return size < initialSize;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    private int delete(int node, int value) {
+        // 1. Perform standard BST deletion
+        if (node == NIL) {
+            return NIL;
+        }
+
+        if (value < keys[node]) {
+            left[node] = delete(left[node], value);
+        } else if (value > keys[node]) {
+            right[node] = delete(right[node], value);
+        } else {
+            // Node with only one child or no child: the child takes its place, the slot is freed
+            if (left[node] == NIL || right[node] == NIL) {
+                int child = (left[node] != NIL) ? left[node] : right[node];
+                free(node);
+                size--;
+                return child;
+            }
+
+            // Node with two children: take over the inorder successor's key and delete that instead
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                successor = left[successor];
+            }
+            keys[node] = keys[successor];
+            right[node] = delete(right[node], keys[successor]);
+        }
+
+        // 2. Update height and restore the balance if needed
+        return rebalance(node);
+    }
+
+    public boolean contains(int value) {
+        int node = root;
+        while (node != NIL) {
+            if (value < keys[node]) {
+                node = left[node];
+            } else if (value > keys[node]) {
+                node = right[node];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    @Override
+    public void clear() {
+        reset();
+    }
+
+    // Fresh empty arena, shared by the constructor and clear
+    private void reset() {
+        keys = new int[INITIAL_CAPACITY];
+        left = new int[INITIAL_CAPACITY];
+        right = new int[INITIAL_CAPACITY];
+        heights = new byte[INITIAL_CAPACITY];
+        root = NIL;
+        size = 0;
+        nextSlot = 1;
+        freeList = NIL;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inorder Traversal
+     */
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        for (int value : toArray()) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * The values in ascending order as a primitive array, without boxing
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int count = 0;
+        // iterative inorder walk with an explicit stack of handles
+        int[] stack = new int[height(root) + 1];
+        int depth = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            result[count++] = keys[node];
+            node = right[node];
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        return view(root);
+    }
+
+    //
+    // Int AVL Tree Arena Methods
+    //
+
+    // Hands out a slot for a new leaf, reusing a freed one first
+    private int allocate(int value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nextSlot == keys.length) {
+                grow();
+            }
+            node = nextSlot++;
+        }
+        keys[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        heights[node] = 1;
+        return node;
+    }
+
+    // Puts a slot on the free list, its left entry links to the next free slot
+    private void free(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+
+    //
+    // Int AVL Tree Specific Methods
+    //
+
+    private int height(int node) {
+        return heights[node];  // NIL keeps height 0
+    }
+
+    /**
+     * Get the balance factor of a node
+     * Balance factor = height of left subtree - height of right subtree
+     */
+    private int getBalance(int node) {
+        return height(left[node]) - height(right[node]);
+    }
+
+    private void updateHeight(int node) {
+        heights[node] = (byte) (1 + Math.max(height(left[node]), height(right[node])));
+    }
+
+    // Updates the node's height and applies one of the four rotation cases if it is off by 2
+    private int rebalance(int node) {
+        updateHeight(node);
+        int balance = getBalance(node);
+
+        // Left heavy: Left-Left or Left-Right case
+        if (balance > 1) {
+            if (getBalance(left[node]) < 0) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+
+        // Right heavy: Right-Right or Right-Left case
+        if (balance < -1) {
+            if (getBalance(right[node]) > 0) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    /*
+    * Rotation Methods
+    */
+
+    private int rotateRight(int y) {
+        int x = left[y];
+        left[y] = right[x];
+        right[x] = y;
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        left[y] = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    /**
+     * Check if the tree is balanced - for debugging and testing on runtime
+     */
+    public boolean isBalanced() {
+        return isBalanced(root);
+    }
+
+    private boolean isBalanced(int node) {
+        if (node == NIL) {
+            return true;
+        }
+        if (Math.abs(getBalance(node)) > 1) {
+            return false;
+        }
+        return isBalanced(left[node]) && isBalanced(right[node]);
+    }
+
+    //
+    // Int AVL Tree Visualization
+    //
+
+    private TreeNode<Integer> view(int node) {
+        return node == NIL ? null : new NodeView(node);
+    }
+
+    /**
+     * A node handle seen as a TreeNode for the visualizer, created on demand
+     */
+    private final class NodeView implements TreeNode<Integer> {
+        private final int node;
+
+        NodeView(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public Integer getValue() {
+            return keys[node];
+        }
+
+        @Override
+        public TreeNode<Integer> getLeft() {
+            return view(left[node]);
+        }
+
+        @Override
+        public TreeNode<Integer> getRight() {
+            return view(right[node]);
+        }
+
+        @Override
+        public String getColor() {
+            return Math.abs(getBalance(node)) > 1 ? "UNBALANCED" : "BALANCED";
+        }
+    }
+}
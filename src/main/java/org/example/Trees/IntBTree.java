@@ -0,0 +1,141 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * Primitive int B-Tree Implementation
+ * A BTree of Integers whose nodes keep their keys in a packed int[] instead of an Object[]
+ * of boxed Integers. Insert, delete, split, merge and borrow all come from BTree, only the
+ * key storage is specialized. That lets the position of a key inside a node be found with
+ * SIMD compares (see IntKeySearch): with the jdk.incubator.vector module added at startup a
+ * node of 16 to 128 keys is searched a vector at a time, without it the search falls back
+ * to a scalar binary search.
+ */
+public class IntBTree extends BTree<Integer> {
+    private transient IntKeySearch search;
+
+    /**
+     * NODE CLASS for the int B-Tree
+     * A B-tree node whose keys are kept in intKeys[0, keyCount)
+     */
+    private final class IntNode extends Node {
+        final int[] intKeys;
+
+        IntNode(boolean isLeaf) {
+            super(isLeaf, null);
+            this.intKeys = new int[getOrder() - 1];
+        }
+
+        @Override
+        Integer keyAt(int index) {
+            return intKeys[index];
+        }
+
+        @Override
+        void setKey(int index, Integer key) {
+            intKeys[index] = key;
+        }
+
+        @Override
+        void copyKeys(int from, Node target, int to, int count) {
+            System.arraycopy(intKeys, from, ((IntNode) target).intKeys, to, count);
+        }
+
+        @Override
+        void clearKeys(int from, int to) {
+            // ints hold no references, nothing to release
+        }
+
+        @Override
+        int findKeyIndex(Integer key) {
+            return findKeyIndex(key.intValue());
+        }
+
+        // first key that is >= key, the only place the SIMD search runs
+        int findKeyIndex(int key) {
+            return search.lowerBound(intKeys, keyCount, key);
+        }
+
+        @Override
+        boolean hasKeyAt(int index, Integer key) {
+            return hasKeyAt(index, key.intValue());
+        }
+
+        boolean hasKeyAt(int index, int key) {
+            return index < keyCount && intKeys[index] == key;
+        }
+    }
+
+    //
+    // Int B-Tree Class Constructor
+    //
+
+    public IntBTree(int order) {
+        this(order, IntKeySearch.PREFERRED);
+    }
+
+    // Lets the benchmark compare the scalar and the vector search on the same tree shape
+    IntBTree(int order, IntKeySearch search) {
+        super(order);
+        this.search = search;
+    }
+
+    @Override
+    protected Node newNode(boolean isLeaf) {
+        return new IntNode(isLeaf);
+    }
+
+    //
+    // Int B-Tree Class Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Int B-Tree (order " + getOrder() + ")";
+    }
+
+    @Override
+    public Color color() {
+        return Color.SADDLEBROWN;
+    }
+
+    /**
+     * True if node searches run on the Vector API rather than the scalar fallback
+     */
+    public boolean isVectorized() {
+        return search != IntKeySearch.SCALAR;
+    }
+
+    //
+    // Int B-Tree Class Operation Methods
+    //
+
+    public void insert(int value) {
+        insert(Integer.valueOf(value));
+    }
+
+    public boolean delete(int value) {
+        return delete(Integer.valueOf(value));
+    }
+
+    // Walks the int keys directly, so a lookup never boxes the value
+    public boolean contains(int value) {
+        IntNode node = (IntNode) rootNode();
+        while (node != null) {
+            int i = node.findKeyIndex(value);
+            if (node.hasKeyAt(i, value)) {
+                return true;
+            }
+            node = node.isLeaf ? null : (IntNode) node.children[i];
+        }
+        return false;
+    }
+
+    // The search strategy is not serialized, a loaded tree uses whatever this JVM supports
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        search = IntKeySearch.PREFERRED;
+    }
+}
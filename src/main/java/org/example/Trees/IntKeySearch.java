@@ -0,0 +1,46 @@
+package org.example.Trees;
+
+/**
+ * Key search inside one node of IntBTree: the position of a key in a sorted int array.
+ * SCALAR is a plain binary search. VectorIntKeySearch compares a whole vector of keys
+ * per instruction with the incubating Vector API, and is picked by PREFERRED when the JVM
+ * was started with the jdk.incubator.vector module (--add-modules jdk.incubator.vector).
+ */
+interface IntKeySearch {
+
+    /**
+     * Index of the first of keys[0, count) that is >= key, or count if every key is smaller
+     */
+    int lowerBound(int[] keys, int count, int key);
+
+    IntKeySearch SCALAR = IntKeySearch::binarySearch;
+
+    IntKeySearch PREFERRED = load();
+
+    private static int binarySearch(int[] keys, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The vector search is only linked when its module is in the boot layer, anything else falls back to scalar
+    private static IntKeySearch load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (IntKeySearch) Class.forName("org.example.Trees.VectorIntKeySearch")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // module present but not readable from here, stay scalar
+            }
+        }
+        return SCALAR;
+    }
+}
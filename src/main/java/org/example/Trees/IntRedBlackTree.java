@@ -0,0 +1,523 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive int Red-Black Tree Implementation
+ * Same coloring rules as RedBlackTree, but for int keys with no object per node. Nodes live
+ * in parallel arrays (key, left, right, parent, color) and are referred to by their int
+ * handle, the index into those arrays.
+ *
+ * Handle 0 is the NIL sentinel: a black node standing in for every empty child, so the
+ * fix-up loops never have to check for a missing node. Delete is allowed to write the
+ * sentinel's parent while it fixes the tree, as in the textbook version.
+ *
+ * A node costs 17 bytes of array space instead of a RedBlackTree.Node plus a boxed Integer.
+ * Slots freed by delete go on a free list, chained through the left array, and are reused
+ * by the next inserts.
+ */
+public class IntRedBlackTree implements Tree<Integer>, Serializable {
+    //
+    // Int Red Black Tree Class Setup
+    //
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // node arena: one slot per node, slot 0 is the NIL sentinel
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] colors;  // RED = true, BLACK = false, the sentinel stays black
+
+    private int root;
+    private int size;
+    private int nextSlot;  // first slot never handed out
+    private int freeList;  // most recently freed slot, NIL if none
+
+    //
+    // Int Red Black Tree Constructor
+    //
+
+    public IntRedBlackTree() {
+        reset();
+    }
+
+    //
+    // Int Red Black Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Int RBT";
+    }
+
+    @Override
+    public Color color() {
+        return Color.FIREBRICK;
+    }
+
+    //
+    // Int Red Black Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        // BST descent to the parent of the new node
+        int current = root;
+        int above = NIL;
+        while (current != NIL) {
+            above = current;
+            if (value < keys[current]) {
+                current = left[current];
+            } else if (value > keys[current]) {
+                current = right[current];
+            } else {
+                // Value already exists, don't insert
+                return;
+            }
+        }
+
+        // link a new red node in
+        int node = allocate(value);
+        parent[node] = above;
+        if (above == NIL) {
+            root = node;
+        } else if (value < keys[above]) {
+            left[above] = node;
+        } else {
+            right[above] = node;
+        }
+        size++;
+
+        // fix the violations and symmetry with respect to the new node
+        fixInsert(node);
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    // Fixes violations and symmetry during insertion
+    private void fixInsert(int node) {
+        // the sentinel is black, so this also stops at the root
+        while (colors[parent[node]] == RED) {
+            int up = parent[node];
+            int grandparent = parent[up];
+
+            if (up == left[grandparent]) {
+                int uncle = right[grandparent];
+
+                // Case 1: Uncle is red - recolor and move up
+                if (colors[uncle] == RED) {
+                    colors[up] = BLACK;
+                    colors[uncle] = BLACK;
+                    colors[grandparent] = RED;
+                    node = grandparent;
+                } else {
+                    // Case 2: Node is right child - left rotate
+                    if (node == right[up]) {
+                        node = up;
+                        rotateLeft(node);
+                        up = parent[node];
+                    }
+                    // Case 3: Node is left child - right rotate and recolor
+                    colors[up] = BLACK;
+                    colors[grandparent] = RED;
+                    rotateRight(grandparent);
+                }
+            } else {
+                int uncle = left[grandparent];
+
+                // Case 1: Uncle is red - recolor and move up
+                if (colors[uncle] == RED) {
+                    colors[up] = BLACK;
+                    colors[uncle] = BLACK;
+                    colors[grandparent] = RED;
+                    node = grandparent;
+                } else {
+                    // Case 2: Node is left child - right rotate
+                    if (node == left[up]) {
+                        node = up;
+                        rotateRight(node);
+                        up = parent[node];
+                    }
+                    // Case 3: Node is right child - left rotate and recolor
+                    colors[up] = BLACK;
+                    colors[grandparent] = RED;
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        colors[root] = BLACK; // Root must always be black
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(int value) {
+        int node = findNode(value);
+        if (node == NIL) {
+            return false;
+        }
+
+        int removed = node;  // the node that actually leaves its place
+        boolean removedColor = colors[removed];
+        int replacement;  // the node that moves into removed's place, possibly the sentinel
+
+        if (left[node] == NIL) {
+            replacement = right[node];
+            transplant(node, replacement);
+        } else if (right[node] == NIL) {
+            replacement = left[node];
+            transplant(node, replacement);
+        } else {
+            // Node has two children: its successor moves into its place
+            removed = minimum(right[node]);
+            removedColor = colors[removed];
+            replacement = right[removed];
+            if (parent[removed] == node) {
+                parent[replacement] = removed;
+            } else {
+                transplant(removed, replacement);
+                right[removed] = right[node];
+                parent[right[removed]] = removed;
+            }
+            transplant(node, removed);
+            left[removed] = left[node];
+            parent[left[removed]] = removed;
+            colors[removed] = colors[node];
+        }
+
+        // Fixes violation if a black node left the path
+        if (removedColor == BLACK) {
+            fixDelete(replacement);
+        }
+        free(node);
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    // Puts replacement where node was under node's parent, replacement may be the sentinel
+    private void transplant(int node, int replacement) {
+        int up = parent[node];
+        if (up == NIL) {
+            root = replacement;
+        } else if (node == left[up]) {
+            left[up] = replacement;
+        } else {
+            right[up] = replacement;
+        }
+        parent[replacement] = up;
+    }
+
+    // fixes symmetry during deletion, node carries the extra black
+    private void fixDelete(int node) {
+        while (node != root && colors[node] == BLACK) {
+            int up = parent[node];
+            if (node == left[up]) {
+                int sibling = right[up];
+
+                // Case 1: Sibling is red, converts to case 2,3,4
+                if (colors[sibling] == RED) {
+                    colors[sibling] = BLACK;
+                    colors[up] = RED;
+                    rotateLeft(up);
+                    sibling = right[up];
+                }
+
+                // Case 2: Sibling is black with two black children, push the extra black up
+                if (colors[left[sibling]] == BLACK && colors[right[sibling]] == BLACK) {
+                    colors[sibling] = RED;
+                    node = up;
+                } else {
+                    // Case 3: Sibling's far child is black, rotation converts it to case 4
+                    if (colors[right[sibling]] == BLACK) {
+                        colors[left[sibling]] = BLACK;
+                        colors[sibling] = RED;
+                        rotateRight(sibling);
+                        sibling = right[up];
+                    }
+
+                    // Case 4: Sibling's far child is red, rotate and recolor to absorb the extra black
+                    colors[sibling] = colors[up];
+                    colors[up] = BLACK;
+                    colors[right[sibling]] = BLACK;
+                    rotateLeft(up);
+                    node = root;
+                }
+            } else {
+                int sibling = left[up];
+
+                // Case 1: Sibling is red, converts to case 2,3,4
+                if (colors[sibling] == RED) {
+                    colors[sibling] = BLACK;
+                    colors[up] = RED;
+                    rotateRight(up);
+                    sibling = left[up];
+                }
+
+                // Case 2: Sibling is black with two black children, push the extra black up
+                if (colors[left[sibling]] == BLACK && colors[right[sibling]] == BLACK) {
+                    colors[sibling] = RED;
+                    node = up;
+                } else {
+                    // Case 3: Sibling's far child is black, rotation converts it to case 4
+                    if (colors[left[sibling]] == BLACK) {
+                        colors[right[sibling]] = BLACK;
+                        colors[sibling] = RED;
+                        rotateLeft(sibling);
+                        sibling = left[up];
+                    }
+
+                    // Case 4: Sibling's far child is red, rotate and recolor to absorb the extra black
+                    colors[sibling] = colors[up];
+                    colors[up] = BLACK;
+                    colors[left[sibling]] = BLACK;
+                    rotateRight(up);
+                    node = root;
+                }
+            }
+        }
+
+        // any red node that absorbs the extra black recolors to black
+        colors[node] = BLACK;
+    }
+
+    public boolean contains(int value) {
+        return findNode(value) != NIL;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    private int findNode(int value) {
+        int node = root;
+        while (node != NIL) {
+            if (value < keys[node]) {
+                node = left[node];
+            } else if (value > keys[node]) {
+                node = right[node];
+            } else {
+                return node;
+            }
+        }
+        return NIL;
+    }
+
+    // find the left most node
+    private int minimum(int node) {
+        while (left[node] != NIL) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    @Override
+    public void clear() {
+        reset();
+    }
+
+    // Fresh empty arena, shared by the constructor and clear
+    private void reset() {
+        keys = new int[INITIAL_CAPACITY];
+        left = new int[INITIAL_CAPACITY];
+        right = new int[INITIAL_CAPACITY];
+        parent = new int[INITIAL_CAPACITY];
+        colors = new boolean[INITIAL_CAPACITY];
+        colors[NIL] = BLACK;
+        root = NIL;
+        size = 0;
+        nextSlot = 1;
+        freeList = NIL;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inorder Traversal
+     */
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        for (int value : toArray()) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * The values in ascending order as a primitive array, without boxing.
+     * Walks the parent links, so it needs no stack at all.
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        if (root == NIL) {
+            return result;
+        }
+        int count = 0;
+        int node = minimum(root);
+        while (node != NIL) {
+            result[count++] = keys[node];
+            // inorder successor: leftmost of the right subtree, or the first ancestor we are left of
+            if (right[node] != NIL) {
+                node = minimum(right[node]);
+            } else {
+                int up = parent[node];
+                while (up != NIL && node == right[up]) {
+                    node = up;
+                    up = parent[up];
+                }
+                node = up;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        return view(root);
+    }
+
+    //
+    // Int Red Black Tree Arena Methods
+    //
+
+    // Hands out a slot for a new red leaf, reusing a freed one first
+    private int allocate(int value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nextSlot == keys.length) {
+                grow();
+            }
+            node = nextSlot++;
+        }
+        keys[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        colors[node] = RED; // New nodes are always red
+        return node;
+    }
+
+    // Puts a slot on the free list, its left entry links to the next free slot
+    private void free(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+    }
+
+    /*
+    * Rotation Methods
+    */
+
+    private void rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        if (left[pivot] != NIL) {
+            parent[left[pivot]] = node;
+        }
+        parent[pivot] = parent[node];
+        if (parent[node] == NIL) {
+            root = pivot;
+        } else if (node == left[parent[node]]) {
+            left[parent[node]] = pivot;
+        } else {
+            right[parent[node]] = pivot;
+        }
+        left[pivot] = node;
+        parent[node] = pivot;
+    }
+
+    private void rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        if (right[pivot] != NIL) {
+            parent[right[pivot]] = node;
+        }
+        parent[pivot] = parent[node];
+        if (parent[node] == NIL) {
+            root = pivot;
+        } else if (node == right[parent[node]]) {
+            right[parent[node]] = pivot;
+        } else {
+            left[parent[node]] = pivot;
+        }
+        right[pivot] = node;
+        parent[node] = pivot;
+    }
+
+    //
+    // Int Red Black Tree Visualization
+    //
+
+    private TreeNode<Integer> view(int node) {
+        return node == NIL ? null : new NodeView(node);
+    }
+
+    /**
+     * A node handle seen as a TreeNode for the visualizer, created on demand
+     */
+    private final class NodeView implements TreeNode<Integer> {
+        private final int node;
+
+        NodeView(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public Integer getValue() {
+            return keys[node];
+        }
+
+        @Override
+        public TreeNode<Integer> getLeft() {
+            return view(left[node]);
+        }
+
+        @Override
+        public TreeNode<Integer> getRight() {
+            return view(right[node]);
+        }
+
+        @Override
+        public String getColor() {
+            return colors[node] == RED ? "RED" : "BLACK";
+        }
+    }
+}
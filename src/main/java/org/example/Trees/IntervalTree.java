@@ -0,0 +1,189 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interval Tree Implementation
+ * A red-black tree of closed intervals [start, end], ordered by start and then end, where every
+ * node also keeps the largest end point in its subtree (maxEnd). RedBlackTree calls update on
+ * each node whose children change (rotations, fixDelete, the insert and delete paths, joins),
+ * so maxEnd stays correct under every operation the base tree has.
+ *
+ * An overlap query skips any subtree whose maxEnd is below the query and, as the tree is
+ * ordered by start, everything to the right of a node that starts after the query. A subtree
+ * it enters can still hold no match (its maxEnd reaches the query, but every interval in it
+ * starts too late), so the worst case is O(log n) visited nodes per reported interval. The
+ * common cost is the search path plus the matches.
+ *
+ * Like the base tree this is a set: inserting the same interval twice keeps one copy.
+ */
+public class IntervalTree<P extends Comparable<P>> extends RedBlackTree<IntervalTree.Interval<P>> {
+
+    /**
+     * A closed interval, ordered by start and then by end
+     */
+    public record Interval<P extends Comparable<P>>(P start, P end) implements Comparable<Interval<P>>, Serializable {
+        public Interval {
+            if (start == null || end == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+            if (start.compareTo(end) > 0) {
+                throw new IllegalArgumentException("Interval start must not be after its end");
+            }
+        }
+
+        public boolean overlaps(P lo, P hi) {
+            return start.compareTo(hi) <= 0 && end.compareTo(lo) >= 0;
+        }
+
+        @Override
+        public int compareTo(Interval<P> other) {
+            int cmp = start.compareTo(other.start);
+            return cmp != 0 ? cmp : end.compareTo(other.end);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + "]";
+        }
+    }
+
+    /**
+     * NODE CLASS for the Interval Tree
+     * A red-black node that also knows the largest end point below it
+     */
+    private class IntervalNode extends Node {
+        P maxEnd;
+
+        IntervalNode(Interval<P> value) {
+            super(value);
+            this.maxEnd = value.end();
+        }
+    }
+
+    //
+    // Interval Tree Class Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Interval Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.MEDIUMBLUE;
+    }
+
+    @Override
+    protected Node createNode(Interval<P> value) {
+        return new IntervalNode(value);
+    }
+
+    @Override
+    protected IntervalTree<P> newEmpty() {
+        return new IntervalTree<>();
+    }
+
+    @Override
+    protected void update(Node node) {
+        IntervalNode interval = (IntervalNode) node;
+        P max = interval.value.end();
+        if (node.left != null && ((IntervalNode) node.left).maxEnd.compareTo(max) > 0) {
+            max = ((IntervalNode) node.left).maxEnd;
+        }
+        if (node.right != null && ((IntervalNode) node.right).maxEnd.compareTo(max) > 0) {
+            max = ((IntervalNode) node.right).maxEnd;
+        }
+        interval.maxEnd = max;
+    }
+
+    //
+    // Interval Tree Class Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(P start, P end) {
+        insert(new Interval<>(start, end));
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(P start, P end) {
+        return start != null && end != null && start.compareTo(end) <= 0 && delete(new Interval<>(start, end));
+    }
+
+    /**
+     * Split
+     * As in RedBlackTree, the returned tree is an interval tree as well
+     */
+    @Override
+    public IntervalTree<P> split(Interval<P> key) {
+        return (IntervalTree<P>) super.split(key);
+    }
+
+    /**
+     * Every interval that contains point, in order
+     */
+    public List<Interval<P>> overlapping(P point) {
+        return overlapping(point, point);
+    }
+
+    /**
+     * Every interval that shares at least one point with [lo, hi], in order
+     */
+    public List<Interval<P>> overlapping(P lo, P hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("Cannot query a null bound");
+        }
+        List<Interval<P>> result = new ArrayList<>();
+        if (lo.compareTo(hi) <= 0) {
+            overlapping(rootNode(), lo, hi, result);
+        }
+        return result;
+    }
+
+    private void overlapping(Node node, P lo, P hi, List<Interval<P>> result) {
+        // nothing in this subtree reaches lo
+        if (node == null || ((IntervalNode) node).maxEnd.compareTo(lo) < 0) {
+            return;
+        }
+        overlapping(node.left, lo, hi, result);
+        // this node and everything to its right start after hi
+        if (node.value.start().compareTo(hi) > 0) {
+            return;
+        }
+        if (node.value.end().compareTo(lo) >= 0) {
+            result.add(node.value);
+        }
+        overlapping(node.right, lo, hi, result);
+    }
+
+    /**
+     * True if any interval shares a point with [lo, hi], a single O(log n) descent
+     */
+    public boolean overlapsAny(P lo, P hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return false;
+        }
+        Node node = rootNode();
+        while (node != null) {
+            if (node.value.overlaps(lo, hi)) {
+                return true;
+            }
+            // if the left side reaches lo but has no overlap, its intervals start after hi and so does the right side
+            if (node.left != null && ((IntervalNode) node.left).maxEnd.compareTo(lo) >= 0) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+}
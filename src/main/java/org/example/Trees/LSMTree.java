@@ -0,0 +1,908 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Log-Structured Merge Tree Implementation
+ * A storage engine for int keys that turns every write into sequential disk I/O.
+ *
+ * Write path:
+ * - Inserts and deletes go to the memtable, a RedBlackTree of live keys plus a RedBlackTree
+ *   of tombstones (deleted keys that may still sit in an older run), and to the write-ahead
+ *   log so they survive a restart
+ * - Once the memtable holds memtableLimit entries it is written out in key order as a new
+ *   immutable run file, and the log starts over
+ *
+ * Read path: the memtable first, then the runs from newest to oldest. Each run keeps a Bloom
+ * filter of its keys and a sparse index (the first key of every block of 512 entries) in
+ * memory, so a lookup skips a run that does not hold the key without touching its file, about
+ * 1 time in 100 reads a block for nothing, and otherwise reads at most one block per run. The
+ * first run that has the key decides: a put means present, a tombstone absent.
+ *
+ * A background thread compacts runs whenever there are 4 or more: the newest runs are merged
+ * into one (newest entry wins), pulling in older runs while they are no more than twice the size
+ * merged so far. Tombstones are dropped once the merge reaches the oldest run.
+ *
+ * Files in the directory:
+ * - lo-hi.run: a run holding everything flushed in sequence numbers lo to hi. A merged run is
+ *   renamed into place before its inputs are deleted, and on open any run whose range lies
+ *   inside another's is a leftover input and is deleted
+ * - wal.log: the write-ahead log, buffered; sync() forces it, close() flushes the memtable
+ *
+ * insert writes blindly: a put shadows whatever older runs hold, so it never waits on them.
+ * The runs are only asked whether the key was already live, to keep size() exact, and their
+ * filters answer that in memory for a new key. delete has to answer whether the key was there,
+ * so it does the full lookup. Operations are serialized on the tree, compaction runs alongside
+ * them.
+ */
+public class LSMTree implements Tree<Integer>, Closeable {
+    //
+    // LSM Tree Class Setup
+    //
+
+    private static final int DEFAULT_MEMTABLE_LIMIT = 1 << 16;
+    private static final int MAX_RUNS = 4;  // compaction starts at this many runs
+
+    // run file layout: blocks of entries, the sparse index, then the footer
+    private static final int ENTRY_BYTES = 5;  // int key, byte kind
+    private static final int BLOCK_ENTRIES = 512;
+    private static final int BLOCK_BYTES = BLOCK_ENTRIES * ENTRY_BYTES;
+    private static final int FOOTER_BYTES = 24;  // index offset, entry count, tree size, magic
+    private static final int RUN_MAGIC = 0x4C534D31;  // "LSM1"
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 0;
+
+    // what a run knows about a key
+    private static final int ABSENT = 0;
+    private static final int FOUND = 1;
+    private static final int DELETED = 2;
+
+    private static final int IO_BUFFER = 1 << 16;
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final transient Path directory;
+    private final transient int memtableLimit;
+
+    // memtable: the two trees never share a key
+    private transient RedBlackTree<Integer> memtable;
+    private transient RedBlackTree<Integer> tombstones;
+
+    private transient List<Run> runs;  // oldest first, replaced as a whole on every change
+    private transient long lastSequence;
+    private transient int size;
+
+    private transient FileChannel log;
+    private transient ByteBuffer logBuffer;
+
+    private transient ExecutorService compactor;
+    private transient boolean compacting;
+    private transient IOException compactionFailure;
+    private transient boolean closed;
+
+    /**
+     * One immutable sorted run file with its sparse index and the Bloom filter of its keys
+     */
+    private static final class Run {
+        final Path path;
+        final long lo;
+        final long hi;
+        final FileChannel channel;
+        final int[] firstKeys;  // first key of every block
+        final int entries;
+        final long treeSize;    // size of the whole tree when sequence hi was flushed
+        final CountingBloomFilter<Integer> filter;  // puts and tombstones alike
+
+        // filter holds the run's keys, or is null to build it by reading the run once
+        Run(Path path, long lo, long hi, CountingBloomFilter<Integer> filter) throws IOException {
+            this.path = path;
+            this.lo = lo;
+            this.hi = hi;
+            this.channel = FileChannel.open(path, READ);
+            try {
+                ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES);
+                readFully(channel, footer, channel.size() - FOOTER_BYTES);
+                if (footer.getInt(20) != RUN_MAGIC) {
+                    throw new IOException("Not a run file: " + path);
+                }
+                long indexOffset = footer.getLong(0);
+                this.entries = footer.getInt(8);
+                this.treeSize = footer.getLong(12);
+
+                ByteBuffer index = ByteBuffer.allocate(4 * blocks(entries));
+                readFully(channel, index, indexOffset);
+                this.firstKeys = new int[blocks(entries)];
+                index.asIntBuffer().get(firstKeys);
+                this.filter = filter != null ? filter : readFilter();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        // Filter for a run that is opened from disk, one sequential pass over its blocks
+        private CountingBloomFilter<Integer> readFilter() throws IOException {
+            CountingBloomFilter<Integer> keys = newFilter(entries);
+            for (int block = 0; block < blocks(entries); block++) {
+                ByteBuffer data = readBlock(block);
+                for (int offset = 0; offset < data.limit(); offset += ENTRY_BYTES) {
+                    keys.add(data.getInt(offset));
+                }
+            }
+            return keys;
+        }
+
+        // FOUND, DELETED or ABSENT, reading only the block the sparse index points at
+        int find(int key) throws IOException {
+            if (!filter.mightContain(key)) {
+                return ABSENT;
+            }
+            int block = Arrays.binarySearch(firstKeys, key);
+            if (block < 0) {
+                block = -block - 2;  // the block whose first key is below key
+                if (block < 0) {
+                    return ABSENT;
+                }
+            }
+            ByteBuffer data = readBlock(block);
+            int low = 0;
+            int high = data.limit() / ENTRY_BYTES - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midKey = data.getInt(mid * ENTRY_BYTES);
+                if (midKey < key) {
+                    low = mid + 1;
+                } else if (midKey > key) {
+                    high = mid - 1;
+                } else {
+                    return data.get(mid * ENTRY_BYTES + 4) == PUT ? FOUND : DELETED;
+                }
+            }
+            return ABSENT;
+        }
+
+        ByteBuffer readBlock(int block) throws IOException {
+            int count = Math.min(BLOCK_ENTRIES, entries - block * BLOCK_ENTRIES);
+            ByteBuffer data = ByteBuffer.allocate(count * ENTRY_BYTES);
+            readFully(channel, data, (long) block * BLOCK_BYTES);
+            return data;
+        }
+
+        static int blocks(int entries) {
+            return (entries + BLOCK_ENTRIES - 1) / BLOCK_ENTRIES;
+        }
+
+        static CountingBloomFilter<Integer> newFilter(int entries) {
+            return new CountingBloomFilter<>(Math.max(1, entries), FILTER_FALSE_POSITIVE_RATE);
+        }
+    }
+
+    //
+    // LSM Tree Constructor
+    //
+
+    /**
+     * Opens the tree stored in directory, creating it if needed
+     */
+    public LSMTree(Path directory) throws IOException {
+        this(directory, DEFAULT_MEMTABLE_LIMIT);
+    }
+
+    public LSMTree(Path directory, int memtableLimit) throws IOException {
+        if (memtableLimit < 1) {
+            throw new IllegalArgumentException("Memtable limit must be positive");
+        }
+        this.directory = directory;
+        this.memtableLimit = memtableLimit;
+        this.memtable = new RedBlackTree<>();
+        this.tombstones = new RedBlackTree<>();
+        Files.createDirectories(directory);
+        openRuns();
+        replayLog();
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "lsm-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleCompaction();
+    }
+
+    // Loads the run files, dropping unfinished merges and inputs a finished merge already covers
+    private void openRuns() throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(".run")) {
+                    String[] bounds = name.substring(0, name.length() - 4).split("-");
+                    ranges.add(new long[] {Long.parseLong(bounds[0]), Long.parseLong(bounds[1])});
+                }
+            }
+        }
+
+        // widest ranges first, so a covered range is always seen after the one covering it
+        ranges.sort(Comparator.<long[]>comparingLong(range -> range[0] - range[1]).thenComparingLong(range -> range[0]));
+        List<Run> loaded = new ArrayList<>();
+        for (long[] range : ranges) {
+            boolean covered = false;
+            for (Run run : loaded) {
+                covered |= run.lo <= range[0] && range[1] <= run.hi;
+            }
+            if (covered) {
+                Files.delete(runPath(range[0], range[1]));
+            } else {
+                loaded.add(new Run(runPath(range[0], range[1]), range[0], range[1], null));
+            }
+        }
+
+        loaded.sort(Comparator.comparingLong(run -> run.hi));
+        runs = List.copyOf(loaded);
+        lastSequence = loaded.isEmpty() ? 0 : loaded.get(loaded.size() - 1).hi;
+        size = loaded.isEmpty() ? 0 : (int) loaded.get(loaded.size() - 1).treeSize;
+    }
+
+    // Reapplies the writes logged since the last flush, ignoring a torn last record
+    private void replayLog() throws IOException {
+        log = FileChannel.open(directory.resolve("wal.log"), READ, WRITE, CREATE);
+        logBuffer = ByteBuffer.allocate(IO_BUFFER);
+        long records = log.size() / ENTRY_BYTES;
+        ByteBuffer record = ByteBuffer.allocate(ENTRY_BYTES);
+        for (long r = 0; r < records; r++) {
+            readFully(log, record, r * ENTRY_BYTES);
+            if (record.get(4) == PUT) {
+                apply(record.getInt(0), true);
+            } else {
+                apply(record.getInt(0), false);
+            }
+        }
+        log.truncate(records * ENTRY_BYTES);
+        log.position(records * ENTRY_BYTES);
+    }
+
+    private Path runPath(long lo, long hi) {
+        return directory.resolve(String.format("%016d-%016d.run", lo, hi));
+    }
+
+    //
+    // LSM Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "LSM Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.OLIVEDRAB;
+    }
+
+    public synchronized int runCount() {
+        return runs.size();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Tree is closed");
+        }
+        if (compactionFailure != null) {
+            IOException failure = compactionFailure;
+            compactionFailure = null;
+            throw new UncheckedIOException("Background compaction failed", failure);
+        }
+    }
+
+    //
+    // LSM Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public synchronized void insert(int value) {
+        ensureOpen();
+        try {
+            if (apply(value, true)) {
+                append(value, PUT);
+                flushIfFull();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    /**
+     * Delete
+     * Leaves a tombstone in the memtable that hides the key in the older runs
+     */
+    public synchronized boolean delete(int value) {
+        ensureOpen();
+        try {
+            if (!apply(value, false)) {
+                return false;
+            }
+            append(value, TOMBSTONE);
+            flushIfFull();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    // Applies a put or a delete to the memtable, false if it changes nothing
+    private boolean apply(int value, boolean put) throws IOException {
+        if (put) {
+            if (memtable.contains(value)) {
+                return false;
+            }
+            // the put goes in either way, the runs only tell whether the key is new
+            boolean live = !tombstones.delete(value) && lookupRuns(value);
+            memtable.insert(value);
+            if (!live) {
+                size++;
+            }
+            return true;
+        }
+        if (!lookup(value)) {
+            return false;
+        }
+        memtable.delete(value);
+        // nothing older to hide if there are no runs
+        if (!runs.isEmpty()) {
+            tombstones.insert(value);
+        }
+        size--;
+        return true;
+    }
+
+    public synchronized boolean contains(int value) {
+        ensureOpen();
+        try {
+            return lookup(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    // Memtable first, then the runs from newest to oldest, the first one that knows the key decides
+    private boolean lookup(int value) throws IOException {
+        if (memtable.contains(value)) {
+            return true;
+        }
+        if (tombstones.contains(value)) {
+            return false;
+        }
+        return lookupRuns(value);
+    }
+
+    // The runs from newest to oldest, most of them answered by their filters alone
+    private boolean lookupRuns(int value) throws IOException {
+        for (int r = runs.size() - 1; r >= 0; r--) {
+            int found = runs.get(r).find(value);
+            if (found != ABSENT) {
+                return found == FOUND;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clear
+     * Deletes every run and the log
+     */
+    @Override
+    public synchronized void clear() {
+        ensureOpen();
+        try {
+            for (Run run : runs) {
+                run.channel.close();
+                Files.delete(run.path);
+            }
+            runs = List.of();
+            memtable.clear();
+            tombstones.clear();
+            size = 0;
+            logBuffer.clear();
+            log.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Inorder Traversal
+     * A merge of the memtable and every run, newest entry winning
+     */
+    @Override
+    public synchronized List<Integer> inorderTraversal() {
+        ensureOpen();
+        List<Integer> result = new ArrayList<>(size);
+        try {
+            Merge merge = new Merge(runs, memtableEntries(), true);
+            while (merge.advance()) {
+                result.add(merge.key());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        // the data is spread over files, there is no node structure to draw
+        return null;
+    }
+
+    //
+    // LSM Tree Storage Methods
+    //
+
+    /**
+     * Writes the buffered log records and forces them to disk
+     */
+    public synchronized void sync() throws IOException {
+        ensureOpen();
+        writeLog();
+        log.force(false);
+    }
+
+    /**
+     * Flush
+     * Writes the memtable out as a new run and starts a fresh log
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (memtable.size() + tombstones.size() == 0) {
+            return;
+        }
+        long sequence = lastSequence + 1;
+        Run run = writeRun(sequence, sequence, memtableEntries(), memtable.size() + tombstones.size(), size);
+        List<Run> updated = new ArrayList<>(runs);
+        updated.add(run);
+        runs = List.copyOf(updated);
+        lastSequence = sequence;
+
+        // everything in the log is in the run now
+        memtable.clear();
+        tombstones.clear();
+        logBuffer.clear();
+        log.truncate(0);
+        scheduleCompaction();
+    }
+
+    private void flushIfFull() throws IOException {
+        if (memtable.size() + tombstones.size() >= memtableLimit) {
+            flush();
+        }
+    }
+
+    private void append(int value, byte kind) throws IOException {
+        if (logBuffer.remaining() < ENTRY_BYTES) {
+            writeLog();
+        }
+        logBuffer.putInt(value).put(kind);
+    }
+
+    private void writeLog() throws IOException {
+        logBuffer.flip();
+        while (logBuffer.hasRemaining()) {
+            log.write(logBuffer);
+        }
+        logBuffer.clear();
+    }
+
+    // The memtable as one sorted stream of puts and tombstones
+    private Entries memtableEntries() {
+        List<Integer> puts = memtable.inorderTraversal();
+        List<Integer> deletes = tombstones.inorderTraversal();
+        return new Entries() {
+            private int p;
+            private int d;
+            private int key;
+            private boolean put;
+
+            @Override
+            public boolean advance() {
+                if (p == puts.size() && d == deletes.size()) {
+                    return false;
+                }
+                put = d == deletes.size() || (p < puts.size() && puts.get(p) < deletes.get(d));
+                key = put ? puts.get(p++) : deletes.get(d++);
+                return true;
+            }
+
+            @Override
+            public int key() {
+                return key;
+            }
+
+            @Override
+            public boolean isPut() {
+                return put;
+            }
+        };
+    }
+
+    // Writes the entries as the run lo-hi: to a temporary file first, forced, then renamed into place.
+    // maxEntries bounds the entries, it sizes the run's filter, which is filled as they are written
+    private Run writeRun(long lo, long hi, Entries entries, int maxEntries, long treeSize) throws IOException {
+        CountingBloomFilter<Integer> filter = Run.newFilter(maxEntries);
+        Path target = runPath(lo, hi);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER);
+            int[] firstKeys = new int[16];
+            int count = 0;
+            while (entries.advance()) {
+                if (count % BLOCK_ENTRIES == 0) {
+                    if (count / BLOCK_ENTRIES == firstKeys.length) {
+                        firstKeys = Arrays.copyOf(firstKeys, firstKeys.length * 2);
+                    }
+                    firstKeys[count / BLOCK_ENTRIES] = entries.key();
+                }
+                if (buffer.remaining() < ENTRY_BYTES) {
+                    drain(out, buffer);
+                }
+                buffer.putInt(entries.key()).put(entries.isPut() ? PUT : TOMBSTONE);
+                filter.add(entries.key());
+                count++;
+            }
+
+            // sparse index and footer
+            long indexOffset = (long) count * ENTRY_BYTES;
+            for (int b = 0; b < Run.blocks(count); b++) {
+                if (buffer.remaining() < 4) {
+                    drain(out, buffer);
+                }
+                buffer.putInt(firstKeys[b]);
+            }
+            if (buffer.remaining() < FOOTER_BYTES) {
+                drain(out, buffer);
+            }
+            buffer.putLong(indexOffset).putInt(count).putLong(treeSize).putInt(RUN_MAGIC);
+            drain(out, buffer);
+            out.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return new Run(target, lo, hi, filter);
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+        }
+        buffer.flip();
+    }
+
+    //
+    // LSM Tree Compaction Methods
+    //
+
+    private void scheduleCompaction() {
+        if (!compacting && compactor != null && !compactor.isShutdown() && runs.size() >= MAX_RUNS) {
+            compacting = true;
+            compactor.execute(this::compact);
+        }
+    }
+
+    // Runs on the compaction thread: the merge itself happens without holding the tree
+    private void compact() {
+        List<Run> window;
+        boolean dropTombstones;
+        synchronized (this) {
+            window = pickWindow();
+            dropTombstones = !window.isEmpty() && window.get(0) == runs.get(0);
+        }
+
+        Run merged = null;
+        IOException failure = null;
+        try {
+            if (!window.isEmpty()) {
+                Run newest = window.get(window.size() - 1);
+                int inputs = 0;
+                for (Run input : window) {
+                    inputs += input.entries;
+                }
+                merged = writeRun(window.get(0).lo, newest.hi, new Merge(window, null, dropTombstones), inputs, newest.treeSize);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();  // from the merge reading the inputs
+        }
+
+        synchronized (this) {
+            compacting = false;
+            // an empty window means the tree was cleared before the merge picked anything
+            int start = window.isEmpty() ? -1 : runs.indexOf(window.get(0));
+            boolean live = start >= 0 && runs.size() >= start + window.size()
+                    && runs.subList(start, start + window.size()).equals(window);
+            try {
+                if (!live) {
+                    // cleared while merging, the result is stale
+                    if (merged != null) {
+                        merged.channel.close();
+                        Files.deleteIfExists(merged.path);
+                    }
+                } else if (failure != null) {
+                    compactionFailure = failure;
+                } else {
+                    // swap the merged run in, then delete the inputs it replaces
+                    List<Run> updated = new ArrayList<>(runs.subList(0, start));
+                    updated.add(merged);
+                    updated.addAll(runs.subList(start + window.size(), runs.size()));
+                    runs = List.copyOf(updated);
+                    for (Run input : window) {
+                        input.channel.close();
+                        Files.delete(input.path);
+                    }
+                }
+            } catch (IOException e) {
+                compactionFailure = e;
+            }
+            if (compactionFailure == null && !closed) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    // The newest runs, growing toward older ones while the next older run is at most twice the merged size
+    private List<Run> pickWindow() {
+        if (runs.size() < MAX_RUNS) {
+            return List.of();
+        }
+        int start = runs.size() - 1;
+        long total = runs.get(start).entries;
+        while (start > 0 && (runs.size() - start < 2 || runs.get(start - 1).entries <= 2 * total)) {
+            start--;
+            total += runs.get(start).entries;
+        }
+        return List.copyOf(runs.subList(start, runs.size()));
+    }
+
+    /**
+     * A sorted stream of keys, each a put or a tombstone
+     */
+    private interface Entries {
+        boolean advance();
+        int key();
+        boolean isPut();
+    }
+
+    /**
+     * Sequential reader over one run, a block at a time
+     */
+    private static final class Cursor {
+        final Run run;
+        final int age;  // higher is newer
+        int next;
+        ByteBuffer block;
+        int key;
+        boolean put;
+
+        Cursor(Run run, int age) {
+            this.run = run;
+            this.age = age;
+        }
+
+        boolean advance() throws IOException {
+            if (next == run.entries) {
+                return false;
+            }
+            if (next % BLOCK_ENTRIES == 0) {
+                block = run.readBlock(next / BLOCK_ENTRIES);
+            }
+            int offset = (next % BLOCK_ENTRIES) * ENTRY_BYTES;
+            key = block.getInt(offset);
+            put = block.get(offset + 4) == PUT;
+            next++;
+            return true;
+        }
+    }
+
+    /**
+     * K-way merge of runs (and optionally the memtable on top), newest entry per key wins.
+     * Tombstones are either passed on or, when nothing older can be hidden, dropped together
+     * with the keys they delete.
+     */
+    private static final class Merge implements Entries {
+        private final PriorityQueue<Cursor> queue = new PriorityQueue<>(
+                Comparator.<Cursor>comparingInt(cursor -> cursor.key).thenComparing(cursor -> -cursor.age));
+        private final Entries top;  // memtable, newer than every run
+        private final boolean dropTombstones;
+        private boolean topReady;
+        private int key;
+        private boolean put;
+
+        Merge(List<Run> runs, Entries top, boolean dropTombstones) throws IOException {
+            this.top = top;
+            this.dropTombstones = dropTombstones;
+            for (int age = 0; age < runs.size(); age++) {
+                Cursor cursor = new Cursor(runs.get(age), age);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            topReady = top != null && top.advance();
+        }
+
+        @Override
+        public boolean advance() {
+            try {
+                while (topReady || !queue.isEmpty()) {
+                    // the smallest key, from the memtable if it has it
+                    boolean fromTop = topReady && (queue.isEmpty() || top.key() <= queue.peek().key);
+                    key = fromTop ? top.key() : queue.peek().key;
+                    put = fromTop ? top.isPut() : queue.peek().put;
+
+                    // older entries for the same key are shadowed
+                    if (fromTop) {
+                        topReady = top.advance();
+                    }
+                    while (!queue.isEmpty() && queue.peek().key == key) {
+                        Cursor cursor = queue.poll();
+                        if (cursor.advance()) {
+                            queue.add(cursor);
+                        }
+                    }
+                    if (put || !dropTombstones) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int key() {
+            return key;
+        }
+
+        @Override
+        public boolean isPut() {
+            return put;
+        }
+    }
+
+    //
+    // LSM Tree Lifecycle Methods
+    //
+
+    /**
+     * Flushes the memtable, waits for a running compaction and closes every file.
+     * Files are released even if the flush or a background compaction failed,
+     * the first failure is thrown afterwards with any later ones suppressed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // taken here so the flush is not stopped by it, the log still holds the memtable either way
+            failure = compactionFailure;
+            compactionFailure = null;
+            try {
+                flush();
+            } catch (IOException e) {
+                failure = suppress(failure, e);
+            } catch (UncheckedIOException e) {
+                failure = suppress(failure, e.getCause());
+            } finally {
+                compactor.shutdown();
+            }
+        }
+        try {
+            // the compaction thread needs the lock to finish, so the wait happens outside it
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closed = true;
+            failure = suppress(failure, compactionFailure);
+            compactionFailure = null;
+            for (Run run : runs) {
+                try {
+                    run.channel.close();
+                } catch (IOException e) {
+                    failure = suppress(failure, e);
+                }
+            }
+            try {
+                writeLog();
+            } catch (IOException e) {
+                failure = suppress(failure, e);
+            } finally {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    failure = suppress(failure, e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Keeps the first failure, later ones ride along as suppressed
+    private static IOException suppress(IOException first, IOException next) {
+        if (first == null) {
+            return next;
+        }
+        if (next != null && next != first) {
+            first.addSuppressed(next);
+        }
+        return first;
+    }
+
+    // The tree is the directory, copy its files instead of serializing the object
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName() + " is stored in " + directory);
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Learned Index Tree Implementation
+ * A read-only set of int keys that finds a key by predicting where it sits in the sorted
+ * array instead of descending a tree.
+ *
+ * The keys are covered by line segments (a piecewise linear model). Each segment maps a key
+ * to a position and is guaranteed to be within epsilon of the true position for every key it
+ * covers. The segments are fitted in one pass with the shrinking cone method: a segment keeps
+ * the range of slopes that still satisfy all its points and ends when that range is empty.
+ *
+ * A lookup binary searches the segment keys (a few hundred or thousand segments for smooth
+ * data, small enough to stay in cache) and then searches a window of 2 * epsilon keys around
+ * the prediction. insert, delete and clear are not supported.
+ */
+public class LearnedIndexTree implements Tree<Integer> {
+    public static final int DEFAULT_EPSILON = 32;
+
+    private final int epsilon;
+    private final int[] keys;            // every key, sorted
+    private final int[] segmentKeys;     // first key covered by each segment
+    private final int[] segmentStarts;   // position of that key, plus keys.length at the end
+    private final double[] slopes;       // positions per unit of key in each segment
+
+    //
+    // Learned Index Tree Constructors
+    //
+
+    public LearnedIndexTree(List<Integer> sorted) {
+        this(sorted, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Fits the model to values, which must be in strictly ascending order (any tree's inorderTraversal)
+     */
+    public LearnedIndexTree(List<Integer> sorted, int epsilon) {
+        if (sorted == null) {
+            throw new IllegalArgumentException("Cannot build from a null list");
+        }
+        if (epsilon < 1) {
+            throw new IllegalArgumentException("Epsilon must be at least 1");
+        }
+        this.epsilon = epsilon;
+        this.keys = new int[sorted.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Integer value = sorted.get(i);
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+            if (i > 0 && value <= keys[i - 1]) {
+                throw new IllegalArgumentException("Values must be in strictly ascending order");
+            }
+            keys[i] = value;
+        }
+
+        // Shrinking cone: lowSlope/highSlope bound the lines through the segment's first point
+        // that pass within epsilon of every point seen so far
+        List<Integer> starts = new ArrayList<>();
+        List<Double> fitted = new ArrayList<>();
+        int start = 0;
+        double lowSlope = 0;
+        double highSlope = Double.POSITIVE_INFINITY;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i < keys.length) {
+                double dx = (double) keys[i] - keys[start];
+                double low = Math.max(lowSlope, (i - start - epsilon) / dx);
+                double high = Math.min(highSlope, (i - start + epsilon) / dx);
+                if (low <= high) {
+                    lowSlope = low;
+                    highSlope = high;
+                    continue;
+                }
+            }
+            starts.add(start);
+            fitted.add(highSlope == Double.POSITIVE_INFINITY ? 0 : (lowSlope + highSlope) / 2);
+            start = i;
+            lowSlope = 0;
+            highSlope = Double.POSITIVE_INFINITY;
+        }
+
+        this.segmentKeys = new int[starts.size()];
+        this.segmentStarts = new int[starts.size() + 1];
+        this.slopes = new double[starts.size()];
+        for (int s = 0; s < starts.size(); s++) {
+            segmentStarts[s] = starts.get(s);
+            segmentKeys[s] = keys[starts.get(s)];
+            slopes[s] = fitted.get(s);
+        }
+        segmentStarts[starts.size()] = keys.length;
+    }
+
+    /**
+     * Learned index over the tree's current values
+     */
+    public static LearnedIndexTree of(Tree<Integer> tree) {
+        return new LearnedIndexTree(tree.inorderTraversal());
+    }
+
+    //
+    // Learned Index Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Learned Index";
+    }
+
+    @Override
+    public Color color() {
+        return Color.MEDIUMORCHID;
+    }
+
+    public int getEpsilon() {
+        return epsilon;
+    }
+
+    public int segmentCount() {
+        return slopes.length;
+    }
+
+    // Last segment whose first key is <= value, -1 if value is below every key
+    private int findSegment(int value) {
+        int lo = 0;
+        int hi = segmentKeys.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (segmentKeys[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    //
+    // Learned Index Tree Search Methods
+    //
+
+    /**
+     * Position of the first key >= value
+     * The prediction is within epsilon of every key in the segment, so the answer for a value
+     * between two keys is within epsilon + 1; one more slot absorbs floating point rounding.
+     */
+    public int lowerBound(int value) {
+        int segment = findSegment(value);
+        if (segment < 0) {
+            return 0;
+        }
+        int segmentStart = segmentStarts[segment];
+        int segmentEnd = segmentStarts[segment + 1];
+        // past the segment's last key the line keeps climbing, the answer never leaves the segment
+        long predicted = segmentStart + (long) (slopes[segment] * ((double) value - segmentKeys[segment]));
+        predicted = Math.min(predicted, segmentEnd);
+
+        int lo = (int) Math.max(segmentStart, predicted - epsilon - 2);
+        int hi = (int) Math.min(segmentEnd, predicted + epsilon + 2);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public boolean contains(int value) {
+        int i = lowerBound(value);
+        return i < keys.length && keys[i] == value;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    //
+    // Learned Index Tree Operation Methods
+    //
+
+    @Override
+    public void insert(Integer value) {
+        throw new UnsupportedOperationException("Learned index is read-only");
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        throw new UnsupportedOperationException("Learned index is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Learned index is read-only");
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(keys.length);
+        for (int key : keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        // a sorted array and a list of segments, not drawn as a tree
+        return null;
+    }
+}
@@ -0,0 +1,814 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Memory-mapped B+ Tree Implementation
+ * A persistent B+ tree of int keys kept in fixed 4 KB pages of a file that is mapped into
+ * memory with FileChannel.map. Opening an existing index only reads its meta page and maps
+ * the file, so it is as quick for tens of millions of keys as for ten.
+ *
+ * Layout:
+ * - Pages 0 and 1 are meta slots: root page, height, size and page count, stamped with a
+ *   generation number and a CRC32. Commits alternate between the two slots, and on open the
+ *   valid slot with the highest generation wins, so the root switches atomically
+ * - Every other page is a node: a type byte, a key count and (for leaves) the next leaf,
+ *   then up to 1022 keys in a leaf, or up to 510 keys and 511 child pages in an internal
+ *   node. Values live only in the leaves, which are linked left to right for range scans
+ *
+ * Inserts split full nodes on the way down, the same shape as BTree; a leaf split copies
+ * the first key of the new right leaf up as the separator. Deletes only take the key out of
+ * its leaf and never merge pages, so a delete writes a single page. clear() drops all pages.
+ *
+ * Pages are read through a cache of page frames with clock (second chance) eviction. Changed
+ * frames stay in the cache until commit(), which saves the old contents of the pages it is
+ * about to overwrite in a journal next to the file, writes the frames into the mapping and
+ * then switches the meta slot. A crash at any point reopens to the last committed tree.
+ * close() commits. Not thread safe.
+ */
+public class MappedBPlusTree implements Tree<Integer>, Closeable {
+    //
+    // Mapped B+ Tree Class Setup
+    //
+
+    public static final int PAGE_SIZE = 4096;
+    private static final int DEFAULT_CACHE_PAGES = 1024;  // 4 MB of frames
+
+    // node page layout
+    private static final int TYPE = 0;      // byte
+    private static final int COUNT = 2;     // short, number of keys
+    private static final int NEXT = 4;      // int, next leaf page, 0 for the last leaf
+    private static final int HEADER = 8;    // keys start here
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final int LEAF_CAPACITY = (PAGE_SIZE - HEADER) / 4;              // 1022 keys
+    private static final int INTERNAL_CAPACITY = (PAGE_SIZE - HEADER - 4) / 8;      // 510 keys, 511 children
+    private static final int CHILDREN = HEADER + 4 * INTERNAL_CAPACITY;             // child pages start here
+
+    // meta page layout, the checksum covers everything before it
+    private static final int MAGIC = 0x42505431;  // "BPT1"
+    private static final int META_GENERATION = 4;
+    private static final int META_ROOT = 12;
+    private static final int META_HEIGHT = 16;
+    private static final int META_SIZE = 20;
+    private static final int META_PAGES = 28;
+    private static final int META_CHECKSUM = 32;
+    private static final int FIRST_NODE_PAGE = 2;
+
+    // journal layout: magic, record count, generation and checksum, then (page, old contents) records
+    private static final int JOURNAL_MAGIC = 0x4250544A;  // "BPTJ"
+    private static final int JOURNAL_HEADER = 24;
+    private static final int JOURNAL_CHECKSUM = 16;
+    private static final int JOURNAL_RECORD = 4 + PAGE_SIZE;
+
+    // the file is mapped in regions of 2^18 pages (1 GB), a MappedByteBuffer holds at most 2 GB
+    private static final int REGION_SHIFT = 18;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final long REGION_BYTES = (long) PAGE_SIZE << REGION_SHIFT;
+
+    private final transient Path file;
+    private final transient Path journalFile;
+    private final transient int cachePages;
+    private transient FileChannel channel;
+    private transient MappedByteBuffer[] regions;
+    private transient int mappedPages;
+
+    // last committed state
+    private transient long generation;
+    private transient int committedPages;
+
+    // working state, written to the other meta slot by the next commit
+    private transient int root;  // 0 while the tree is empty
+    private transient int height;
+    private transient int size;
+    private transient int pageCount;
+    private transient boolean modified;
+
+    // page cache
+    private transient Map<Integer, Frame> cached;
+    private transient List<Frame> clock;
+    private transient int hand;
+    private transient long operation;  // frames used by the running operation are never evicted
+    private transient boolean closed;
+
+    /**
+     * A cached copy of one page
+     */
+    private static final class Frame {
+        final ByteBuffer data = ByteBuffer.allocate(PAGE_SIZE);
+        int page;
+        boolean referenced;  // second chance bit for the clock hand
+        boolean dirty;       // changed since the last commit, stays cached until then
+        long operation;      // last operation that used the frame
+    }
+
+    //
+    // Mapped B+ Tree Constructor
+    //
+
+    /**
+     * Opens the index in file, creating it if it does not exist
+     */
+    public MappedBPlusTree(Path file) throws IOException {
+        this(file, DEFAULT_CACHE_PAGES);
+    }
+
+    public MappedBPlusTree(Path file, int cachePages) throws IOException {
+        if (cachePages < 16) {
+            throw new IllegalArgumentException("Cache must hold at least 16 pages");
+        }
+        this.file = file;
+        this.journalFile = file.resolveSibling(file.getFileName() + "-journal");
+        this.cachePages = cachePages;
+        this.channel = FileChannel.open(file, READ, WRITE, CREATE);
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void open() throws IOException {
+        cached = new HashMap<>();
+        clock = new ArrayList<>();
+        hand = 0;
+
+        if (channel.size() == 0) {
+            // new file: generation 0 in the first meta slot, the second one stays invalid
+            map(FIRST_NODE_PAGE);
+            generation = 0;
+            pageCount = FIRST_NODE_PAGE;
+            writeMeta(generation);
+            force();
+        } else {
+            map((int) (channel.size() / PAGE_SIZE));
+            if (mappedPages < FIRST_NODE_PAGE || !readMeta()) {
+                throw new IOException("Not a B+ tree file: " + file);
+            }
+            recover();
+        }
+        committedPages = pageCount;
+    }
+
+    //
+    // Mapped B+ Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Mapped B+ Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DARKSLATEBLUE;
+    }
+
+    @Override
+    public boolean mutatingReads() {
+        // every read moves pages through the frame cache
+        return true;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // Every public operation starts here, so frames it has touched can be told apart from older ones
+    private void begin() {
+        if (closed) {
+            throw new IllegalStateException("Tree is closed");
+        }
+        operation++;
+    }
+
+    //
+    // Mapped B+ Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        begin();
+
+        // Base Case Handling
+        // if no root, make an empty root leaf
+        if (root == 0) {
+            root = allocate(LEAF).page;
+            height = 1;
+        }
+
+        // Edge case: If root is full, split it under a new root
+        Frame node = page(root);
+        if (isFull(node)) {
+            Frame newRoot = allocate(INTERNAL);
+            setChild(newRoot, 0, root);
+            splitChild(newRoot, 0, node);
+            root = newRoot.page;
+            height++;
+            node = newRoot;
+        }
+
+        // descend, splitting full children first so a separator moving up always has room
+        while (!isLeaf(node)) {
+            int i = childIndex(node, value);
+            Frame child = page(child(node, i));
+            if (isFull(child)) {
+                splitChild(node, i, child);
+                if (value >= key(node, i)) {
+                    child = page(child(node, i + 1));  // the value belongs in the new right half
+                }
+            }
+            node = child;
+        }
+
+        int i = lowerBound(node, value);
+        // Value already exists, don't insert
+        if (i < count(node) && key(node, i) == value) {
+            return;
+        }
+        dirty(node);
+        insertInt(node, HEADER, i, count(node), value);
+        setCount(node, count(node) + 1);
+        size++;
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    // Splits a full child of a non-full parent, the new right sibling goes in at index + 1
+    private void splitChild(Frame parent, int index, Frame child) {
+        dirty(parent);
+        dirty(child);
+        Frame sibling = allocate(child.data.get(TYPE));
+        byte[] from = child.data.array();
+        byte[] to = sibling.data.array();
+        int count = count(child);
+        int mid = count / 2;
+        int separator;
+
+        if (isLeaf(child)) {
+            // leaf: the right half moves over and a copy of its first key goes up
+            System.arraycopy(from, HEADER + 4 * mid, to, HEADER, 4 * (count - mid));
+            setCount(sibling, count - mid);
+            setNext(sibling, next(child));
+            setNext(child, sibling.page);
+            separator = key(sibling, 0);
+        } else {
+            // internal: the middle key moves up, the keys and children right of it move over
+            int moved = count - mid - 1;
+            System.arraycopy(from, HEADER + 4 * (mid + 1), to, HEADER, 4 * moved);
+            System.arraycopy(from, CHILDREN + 4 * (mid + 1), to, CHILDREN, 4 * (moved + 1));
+            setCount(sibling, moved);
+            separator = key(child, mid);
+        }
+        setCount(child, mid);
+
+        int parentCount = count(parent);
+        insertInt(parent, HEADER, index, parentCount, separator);
+        insertInt(parent, CHILDREN, index + 1, parentCount + 1, sibling.page);
+        setCount(parent, parentCount + 1);
+    }
+
+    /**
+     * Delete
+     * Takes the key out of its leaf. Pages are not merged, an emptied leaf stays linked
+     * in and is filled again by later inserts.
+     */
+    public boolean delete(int value) {
+        begin();
+        if (root == 0) {
+            return false;
+        }
+
+        Frame leaf = findLeaf(value);
+        int i = lowerBound(leaf, value);
+        if (i == count(leaf) || key(leaf, i) != value) {
+            return false;
+        }
+        dirty(leaf);
+        removeInt(leaf, HEADER, i, count(leaf));
+        setCount(leaf, count(leaf) - 1);
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    public boolean contains(int value) {
+        begin();
+        if (root == 0) {
+            return false;
+        }
+        Frame leaf = findLeaf(value);
+        int i = lowerBound(leaf, value);
+        return i < count(leaf) && key(leaf, i) == value;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    /**
+     * Range
+     * Every value in [lo, hi] in ascending order: one descent to the leaf that would hold lo,
+     * then a walk along the leaf links.
+     */
+    public List<Integer> range(int lo, int hi) {
+        begin();
+        List<Integer> result = new ArrayList<>();
+        if (root == 0 || lo > hi) {
+            return result;
+        }
+
+        Frame leaf = findLeaf(lo);
+        int i = lowerBound(leaf, lo);
+        while (true) {
+            for (; i < count(leaf); i++) {
+                int key = key(leaf, i);
+                if (key > hi) {
+                    return result;
+                }
+                result.add(key);
+            }
+            if (next(leaf) == 0) {
+                return result;
+            }
+            // each leaf counts as its own operation, so a long scan does not hold the whole range in the cache
+            operation++;
+            leaf = page(next(leaf));
+            i = 0;
+        }
+    }
+
+    // Descends from the root to the leaf whose key range covers value
+    private Frame findLeaf(int value) {
+        Frame node = page(root);
+        while (!isLeaf(node)) {
+            node = page(child(node, childIndex(node, value)));
+        }
+        return node;
+    }
+
+    /**
+     * Clear
+     * Drops every page. The file keeps its size and the pages are reused by later inserts.
+     */
+    @Override
+    public void clear() {
+        begin();
+        cached.clear();
+        clock.clear();
+        hand = 0;
+        root = 0;
+        height = 0;
+        size = 0;
+        pageCount = FIRST_NODE_PAGE;
+        modified = true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inorder Traversal
+     * The leaves are linked in key order, so this is a scan over the whole key range
+     */
+    @Override
+    public List<Integer> inorderTraversal() {
+        return range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        // pages hold hundreds of keys, there is no binary node view to draw
+        return null;
+    }
+
+    //
+    // Mapped B+ Tree Durability Methods
+    //
+
+    /**
+     * Commit
+     * Makes every change since the last commit durable, in three forced steps:
+     * 1. the committed contents of the pages about to be overwritten go to the journal
+     * 2. the changed pages are written into the mapped file
+     * 3. the other meta slot gets the new root under the next generation
+     * After a crash in step 2 the journal puts the old pages back on the next open; after
+     * step 3 the journal is stale (its generation is behind) and is simply dropped.
+     */
+    public void commit() throws IOException {
+        begin();
+        if (!modified) {
+            return;
+        }
+        List<Frame> dirty = new ArrayList<>();
+        for (Frame frame : clock) {
+            if (frame.dirty) {
+                dirty.add(frame);
+            }
+        }
+
+        journal(dirty);
+        writePages(dirty);
+        writeMeta(generation + 1);
+        force();
+
+        generation++;
+        committedPages = pageCount;
+        modified = false;
+        Files.deleteIfExists(journalFile);
+        for (Frame frame : dirty) {
+            frame.dirty = false;
+        }
+
+        // frames added while everything was pinned can go now
+        while (clock.size() > cachePages) {
+            cached.remove(clock.remove(clock.size() - 1).page);
+        }
+        if (hand >= clock.size()) {
+            hand = 0;
+        }
+    }
+
+    /**
+     * Rollback
+     * Throws away every change since the last commit.
+     */
+    public void rollback() {
+        begin();
+        cached.clear();
+        clock.clear();
+        hand = 0;
+        readMeta();
+        modified = false;
+    }
+
+    /**
+     * Commits and releases the file. Any later operation throws IllegalStateException.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            commit();
+        } finally {
+            closed = true;
+            cached = null;
+            clock = null;
+            regions = null;
+            channel.close();
+        }
+    }
+
+    // Step 1 of commit: saves the committed contents of the dirty pages that already exist on disk
+    private void journal(List<Frame> dirty) throws IOException {
+        try (FileChannel journal = FileChannel.open(journalFile, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            ByteBuffer record = ByteBuffer.allocate(JOURNAL_RECORD);
+            int count = 0;
+            for (Frame frame : dirty) {
+                // pages past the committed end are new, there is nothing to lose there
+                if (frame.page >= committedPages) {
+                    continue;
+                }
+                record.clear();
+                record.putInt(0, frame.page);
+                region(frame.page).get(pageOffset(frame.page), record.array(), 4, PAGE_SIZE);
+                writeFully(journal, record, JOURNAL_HEADER + (long) count * JOURNAL_RECORD);
+                count++;
+            }
+            journal.force(false);
+
+            // the header goes last, so a journal with a valid header is always complete
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+            header.putInt(0, JOURNAL_MAGIC);
+            header.putInt(4, count);
+            header.putLong(8, generation);
+            header.putInt(JOURNAL_CHECKSUM, checksum(header, 0, JOURNAL_CHECKSUM));
+            writeFully(journal, header, 0);
+            journal.force(false);
+        }
+    }
+
+    // Step 2 of commit: copies the dirty frames into the mapping, growing the file if needed
+    private void writePages(List<Frame> dirty) throws IOException {
+        map(pageCount);
+        for (Frame frame : dirty) {
+            region(frame.page).put(pageOffset(frame.page), frame.data.array(), 0, PAGE_SIZE);
+        }
+        force();
+    }
+
+    // Rolls back a commit that stopped between writing pages and switching the meta slot
+    private void recover() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        try (FileChannel journal = FileChannel.open(journalFile, READ)) {
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+            boolean valid = journal.size() >= JOURNAL_HEADER;
+            if (valid) {
+                readFully(journal, header, 0);
+                valid = header.getInt(0) == JOURNAL_MAGIC
+                        && header.getInt(JOURNAL_CHECKSUM) == checksum(header, 0, JOURNAL_CHECKSUM)
+                        && journal.size() >= JOURNAL_HEADER + (long) header.getInt(4) * JOURNAL_RECORD;
+            }
+
+            // only a journal written for the generation still in effect belongs to an unfinished commit
+            if (valid && header.getLong(8) == generation) {
+                ByteBuffer record = ByteBuffer.allocate(JOURNAL_RECORD);
+                for (int r = 0; r < header.getInt(4); r++) {
+                    readFully(journal, record, JOURNAL_HEADER + (long) r * JOURNAL_RECORD);
+                    int page = record.getInt(0);
+                    region(page).put(pageOffset(page), record.array(), 4, PAGE_SIZE);
+                }
+                force();
+            }
+        }
+        Files.delete(journalFile);
+    }
+
+    // Loads the valid meta slot with the highest generation, false if neither slot is valid
+    private boolean readMeta() {
+        boolean found = false;
+        for (int slot = 0; slot < FIRST_NODE_PAGE; slot++) {
+            MappedByteBuffer meta = region(slot);
+            int offset = pageOffset(slot);
+            if (meta.getInt(offset) != MAGIC || meta.getInt(offset + META_CHECKSUM) != checksum(meta, offset, META_CHECKSUM)) {
+                continue;
+            }
+            long slotGeneration = meta.getLong(offset + META_GENERATION);
+            if (found && slotGeneration <= generation) {
+                continue;
+            }
+            found = true;
+            generation = slotGeneration;
+            root = meta.getInt(offset + META_ROOT);
+            height = meta.getInt(offset + META_HEIGHT);
+            size = (int) meta.getLong(offset + META_SIZE);
+            pageCount = meta.getInt(offset + META_PAGES);
+        }
+        return found;
+    }
+
+    // Writes the working state into the meta slot of the given generation (even: page 0, odd: page 1)
+    private void writeMeta(long newGeneration) {
+        int slot = (int) (newGeneration & 1);
+        MappedByteBuffer meta = region(slot);
+        int offset = pageOffset(slot);
+        meta.putInt(offset, MAGIC);
+        meta.putLong(offset + META_GENERATION, newGeneration);
+        meta.putInt(offset + META_ROOT, root);
+        meta.putInt(offset + META_HEIGHT, height);
+        meta.putLong(offset + META_SIZE, size);
+        meta.putInt(offset + META_PAGES, pageCount);
+        meta.putInt(offset + META_CHECKSUM, checksum(meta, offset, META_CHECKSUM));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    // The tree is the file, copy the file instead of serializing the object
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName() + " is stored in " + file);
+    }
+
+    //
+    // Mapped B+ Tree Mapping Methods
+    //
+
+    // Maps the whole file, first growing it (at least doubling, at most by 1 GB) if it holds fewer than pages
+    private void map(int pages) throws IOException {
+        if (regions != null && pages <= mappedPages) {
+            return;
+        }
+        long length = channel.size() / PAGE_SIZE * PAGE_SIZE;
+        long needed = (long) pages * PAGE_SIZE;
+        if (length < needed) {
+            length = Math.max(needed, Math.min(2 * length, length + REGION_BYTES));
+            channel.write(ByteBuffer.allocate(1), length - 1);
+        }
+
+        regions = new MappedByteBuffer[(int) ((length + REGION_BYTES - 1) / REGION_BYTES)];
+        for (int r = 0; r < regions.length; r++) {
+            long start = r * REGION_BYTES;
+            regions[r] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(REGION_BYTES, length - start));
+        }
+        mappedPages = (int) (length / PAGE_SIZE);
+    }
+
+    private MappedByteBuffer region(int page) {
+        return regions[page >>> REGION_SHIFT];
+    }
+
+    private static int pageOffset(int page) {
+        return (page & REGION_MASK) * PAGE_SIZE;
+    }
+
+    private void force() {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Journal ends early");
+            }
+        }
+    }
+
+    //
+    // Mapped B+ Tree Page Cache Methods
+    //
+
+    // The cached frame of a page, read from the mapping on a miss
+    private Frame page(int page) {
+        Frame frame = cached.get(page);
+        if (frame == null) {
+            frame = claimFrame(page);
+            region(page).get(pageOffset(page), frame.data.array(), 0, PAGE_SIZE);
+        }
+        frame.referenced = true;
+        frame.operation = operation;
+        return frame;
+    }
+
+    // A zeroed page at the end of the file, it lives only in the cache until the next commit
+    private Frame allocate(byte type) {
+        Frame frame = claimFrame(pageCount++);
+        Arrays.fill(frame.data.array(), (byte) 0);
+        frame.data.put(TYPE, type);
+        frame.referenced = true;
+        frame.operation = operation;
+        dirty(frame);
+        return frame;
+    }
+
+    // A frame for page: a new one while the cache has room, otherwise the first frame the clock
+    // hand finds that is clean, not in use by this operation and not referenced since its last pass
+    private Frame claimFrame(int page) {
+        Frame frame = null;
+        if (clock.size() >= cachePages) {
+            for (int step = 0; step < 2 * clock.size() && frame == null; step++) {
+                Frame candidate = clock.get(hand);
+                hand = (hand + 1) % clock.size();
+                if (candidate.dirty || candidate.operation == operation) {
+                    continue;
+                }
+                if (candidate.referenced) {
+                    candidate.referenced = false;  // second chance
+                    continue;
+                }
+                frame = candidate;
+                cached.remove(candidate.page);
+            }
+        }
+        // every frame is dirty or in use: the cache grows until the next commit
+        if (frame == null) {
+            frame = new Frame();
+            clock.add(frame);
+        }
+        frame.page = page;
+        frame.dirty = false;
+        cached.put(page, frame);
+        return frame;
+    }
+
+    private void dirty(Frame frame) {
+        frame.dirty = true;
+        modified = true;
+    }
+
+    //
+    // Mapped B+ Tree Page Layout Methods
+    //
+
+    private static boolean isLeaf(Frame frame) {
+        return frame.data.get(TYPE) == LEAF;
+    }
+
+    private static boolean isFull(Frame frame) {
+        return count(frame) == (isLeaf(frame) ? LEAF_CAPACITY : INTERNAL_CAPACITY);
+    }
+
+    private static int count(Frame frame) {
+        return frame.data.getShort(COUNT);
+    }
+
+    private static void setCount(Frame frame, int count) {
+        frame.data.putShort(COUNT, (short) count);
+    }
+
+    private static int next(Frame frame) {
+        return frame.data.getInt(NEXT);
+    }
+
+    private static void setNext(Frame frame, int page) {
+        frame.data.putInt(NEXT, page);
+    }
+
+    private static int key(Frame frame, int index) {
+        return frame.data.getInt(HEADER + 4 * index);
+    }
+
+    private static int child(Frame frame, int index) {
+        return frame.data.getInt(CHILDREN + 4 * index);
+    }
+
+    private static void setChild(Frame frame, int index, int page) {
+        frame.data.putInt(CHILDREN + 4 * index, page);
+    }
+
+    // First index whose key is >= value, found by binary search
+    private static int lowerBound(Frame frame, int value) {
+        int low = 0;
+        int high = count(frame);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(frame, mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Child to descend into: child i holds the values in [key(i - 1), key(i)), so the first key > value
+    private static int childIndex(Frame frame, int value) {
+        int low = 0;
+        int high = count(frame);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(frame, mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Shifts the ints [index, count) of the array at offset one slot right and stores value at index
+    private static void insertInt(Frame frame, int offset, int index, int count, int value) {
+        byte[] page = frame.data.array();
+        System.arraycopy(page, offset + 4 * index, page, offset + 4 * (index + 1), 4 * (count - index));
+        frame.data.putInt(offset + 4 * index, value);
+    }
+
+    // Shifts the ints (index, count) of the array at offset one slot left over index
+    private static void removeInt(Frame frame, int offset, int index, int count) {
+        byte[] page = frame.data.array();
+        System.arraycopy(page, offset + 4 * (index + 1), page, offset + 4 * index, 4 * (count - index - 1));
+    }
+}
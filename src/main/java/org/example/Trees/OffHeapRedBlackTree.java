@@ -0,0 +1,688 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Off-heap int Red-Black Tree Implementation
+ * Same coloring rules as RedBlackTree, but every node lives outside the Java heap in
+ * memory segments (java.lang.foreign), so a tree of hundreds of millions of keys adds
+ * nothing for the garbage collector to trace or copy.
+ *
+ * Layout:
+ * - A node is a fixed 32 byte record: left, right and parent handles (8 bytes each),
+ *   the int key and a color byte, padded to 32
+ * - A handle is the node's slot number. Slots are grouped into segments of 2^20 nodes
+ *   (32 MB), each allocated from its own shared Arena when the previous one fills up
+ * - Handle 0 is the NIL sentinel, a black node standing in for every empty child,
+ *   and slots freed by delete are chained into a free list through their left field
+ *
+ * The memory is released by close() (or clear(), which keeps only the first segment),
+ * not by the garbage collector, so use the tree in try-with-resources or close it
+ * explicitly. Any operation on a closed tree throws IllegalStateException.
+ */
+public class OffHeapRedBlackTree implements Tree<Integer>, AutoCloseable, Serializable {
+    //
+    // Off-heap Red Black Tree Class Setup
+    //
+
+    private static final byte RED = 1;
+    private static final byte BLACK = 0;
+
+    private static final long NIL = 0;
+
+    // node record layout
+    private static final long NODE_BYTES = 32;
+    private static final long LEFT = 0;
+    private static final long RIGHT = 8;
+    private static final long PARENT = 16;
+    private static final long KEY = 24;
+    private static final long COLOR = 28;
+
+    // 2^20 nodes per segment
+    private static final int SEGMENT_SHIFT = 20;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final long SEGMENT_BYTES = NODE_BYTES << SEGMENT_SHIFT;
+
+    private transient Arena[] arenas;
+    private transient MemorySegment[] segments;
+    private transient int segmentCount;
+
+    private transient long root;
+    private transient long size;
+    private transient long nextSlot;  // first slot never handed out
+    private transient long freeList;  // most recently freed slot, NIL if none
+    private transient boolean closed;
+
+    //
+    // Off-heap Red Black Tree Constructor
+    //
+
+    public OffHeapRedBlackTree() {
+        init();
+    }
+
+    // Starts over with a single segment holding the sentinel
+    private void init() {
+        arenas = new Arena[8];
+        segments = new MemorySegment[8];
+        segmentCount = 0;
+        addSegment();  // new memory is zeroed, so the sentinel in slot 0 is already black with NIL links
+        root = NIL;
+        size = 0;
+        nextSlot = 1;
+        freeList = NIL;
+        closed = false;
+    }
+
+    //
+    // Off-heap Red Black Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Off-heap RBT";
+    }
+
+    @Override
+    public Color color() {
+        return Color.MAROON;
+    }
+
+    //
+    // Off-heap Red Black Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        ensureOpen();
+
+        // BST descent to the parent of the new node
+        long current = root;
+        long above = NIL;
+        while (current != NIL) {
+            above = current;
+            int key = key(current);
+            if (value < key) {
+                current = left(current);
+            } else if (value > key) {
+                current = right(current);
+            } else {
+                // Value already exists, don't insert
+                return;
+            }
+        }
+
+        // link a new red node in
+        long node = allocate(value);
+        setParent(node, above);
+        if (above == NIL) {
+            root = node;
+        } else if (value < key(above)) {
+            setLeft(above, node);
+        } else {
+            setRight(above, node);
+        }
+        size++;
+
+        // fix the violations and symmetry with respect to the new node
+        fixInsert(node);
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    // Fixes violations and symmetry during insertion
+    private void fixInsert(long node) {
+        // the sentinel is black, so this also stops at the root
+        while (color(parent(node)) == RED) {
+            long up = parent(node);
+            long grandparent = parent(up);
+
+            if (up == left(grandparent)) {
+                long uncle = right(grandparent);
+
+                // Case 1: Uncle is red - recolor and move up
+                if (color(uncle) == RED) {
+                    setColor(up, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    node = grandparent;
+                } else {
+                    // Case 2: Node is right child - left rotate
+                    if (node == right(up)) {
+                        node = up;
+                        rotateLeft(node);
+                        up = parent(node);
+                    }
+                    // Case 3: Node is left child - right rotate and recolor
+                    setColor(up, BLACK);
+                    setColor(grandparent, RED);
+                    rotateRight(grandparent);
+                }
+            } else {
+                long uncle = left(grandparent);
+
+                // Case 1: Uncle is red - recolor and move up
+                if (color(uncle) == RED) {
+                    setColor(up, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    node = grandparent;
+                } else {
+                    // Case 2: Node is left child - right rotate
+                    if (node == left(up)) {
+                        node = up;
+                        rotateRight(node);
+                        up = parent(node);
+                    }
+                    // Case 3: Node is right child - left rotate and recolor
+                    setColor(up, BLACK);
+                    setColor(grandparent, RED);
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        setColor(root, BLACK); // Root must always be black
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(int value) {
+        ensureOpen();
+        long node = findNode(value);
+        if (node == NIL) {
+            return false;
+        }
+
+        long removed = node;  // the node that actually leaves its place
+        byte removedColor = color(removed);
+        long replacement;  // the node that moves into removed's place, possibly the sentinel
+
+        if (left(node) == NIL) {
+            replacement = right(node);
+            transplant(node, replacement);
+        } else if (right(node) == NIL) {
+            replacement = left(node);
+            transplant(node, replacement);
+        } else {
+            // Node has two children: its successor moves into its place
+            removed = minimum(right(node));
+            removedColor = color(removed);
+            replacement = right(removed);
+            if (parent(removed) == node) {
+                setParent(replacement, removed);
+            } else {
+                transplant(removed, replacement);
+                setRight(removed, right(node));
+                setParent(right(removed), removed);
+            }
+            transplant(node, removed);
+            setLeft(removed, left(node));
+            setParent(left(removed), removed);
+            setColor(removed, color(node));
+        }
+
+        // Fixes violation if a black node left the path
+        if (removedColor == BLACK) {
+            fixDelete(replacement);
+        }
+        free(node);
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    // Puts replacement where node was under node's parent, replacement may be the sentinel
+    private void transplant(long node, long replacement) {
+        long up = parent(node);
+        if (up == NIL) {
+            root = replacement;
+        } else if (node == left(up)) {
+            setLeft(up, replacement);
+        } else {
+            setRight(up, replacement);
+        }
+        setParent(replacement, up);
+    }
+
+    // fixes symmetry during deletion, node carries the extra black
+    private void fixDelete(long node) {
+        while (node != root && color(node) == BLACK) {
+            long up = parent(node);
+            if (node == left(up)) {
+                long sibling = right(up);
+
+                // Case 1: Sibling is red, converts to case 2,3,4
+                if (color(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(up, RED);
+                    rotateLeft(up);
+                    sibling = right(up);
+                }
+
+                // Case 2: Sibling is black with two black children, push the extra black up
+                if (color(left(sibling)) == BLACK && color(right(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = up;
+                } else {
+                    // Case 3: Sibling's far child is black, rotation converts it to case 4
+                    if (color(right(sibling)) == BLACK) {
+                        setColor(left(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = right(up);
+                    }
+
+                    // Case 4: Sibling's far child is red, rotate and recolor to absorb the extra black
+                    setColor(sibling, color(up));
+                    setColor(up, BLACK);
+                    setColor(right(sibling), BLACK);
+                    rotateLeft(up);
+                    node = root;
+                }
+            } else {
+                long sibling = left(up);
+
+                // Case 1: Sibling is red, converts to case 2,3,4
+                if (color(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(up, RED);
+                    rotateRight(up);
+                    sibling = left(up);
+                }
+
+                // Case 2: Sibling is black with two black children, push the extra black up
+                if (color(left(sibling)) == BLACK && color(right(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = up;
+                } else {
+                    // Case 3: Sibling's far child is black, rotation converts it to case 4
+                    if (color(left(sibling)) == BLACK) {
+                        setColor(right(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = left(up);
+                    }
+
+                    // Case 4: Sibling's far child is red, rotate and recolor to absorb the extra black
+                    setColor(sibling, color(up));
+                    setColor(up, BLACK);
+                    setColor(left(sibling), BLACK);
+                    rotateRight(up);
+                    node = root;
+                }
+            }
+        }
+
+        // any red node that absorbs the extra black recolors to black
+        setColor(node, BLACK);
+    }
+
+    public boolean contains(int value) {
+        ensureOpen();
+        return findNode(value) != NIL;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    private long findNode(int value) {
+        long node = root;
+        while (node != NIL) {
+            int key = key(node);
+            if (value < key) {
+                node = left(node);
+            } else if (value > key) {
+                node = right(node);
+            } else {
+                return node;
+            }
+        }
+        return NIL;
+    }
+
+    // find the left most node
+    private long minimum(long node) {
+        while (left(node) != NIL) {
+            node = left(node);
+        }
+        return node;
+    }
+
+    /**
+     * Clear
+     * Releases every segment but the first, which is zeroed and reused.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        for (int i = 1; i < segmentCount; i++) {
+            arenas[i].close();
+            arenas[i] = null;
+            segments[i] = null;
+        }
+        segmentCount = 1;
+        segments[0].fill((byte) 0);
+        root = NIL;
+        size = 0;
+        nextSlot = 1;
+        freeList = NIL;
+    }
+
+    /**
+     * Number of values, capped at Integer.MAX_VALUE; see longSize for the exact count
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * Close
+     * Frees all off-heap memory. The tree cannot be used afterwards; closing twice does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < segmentCount; i++) {
+            arenas[i].close();
+            arenas[i] = null;
+            segments[i] = null;
+        }
+        segmentCount = 0;
+        root = NIL;
+        size = 0;
+    }
+
+    /**
+     * Inorder Traversal
+     */
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size());
+        for (int value : toArray()) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * The values in ascending order as a primitive array.
+     * Walks the parent links, so it needs no stack at all.
+     */
+    public int[] toArray() {
+        ensureOpen();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for one array: " + size);
+        }
+        int[] result = new int[(int) size];
+        if (root == NIL) {
+            return result;
+        }
+        int count = 0;
+        long node = minimum(root);
+        while (node != NIL) {
+            result[count++] = key(node);
+            node = successor(node);
+        }
+        return result;
+    }
+
+    // inorder successor: leftmost of the right subtree, or the first ancestor we are left of
+    private long successor(long node) {
+        if (right(node) != NIL) {
+            return minimum(right(node));
+        }
+        long up = parent(node);
+        while (up != NIL && node == right(up)) {
+            node = up;
+            up = parent(up);
+        }
+        return up;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        ensureOpen();
+        return view(root);
+    }
+
+    //
+    // Off-heap Red Black Tree Memory Methods
+    //
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Tree is closed");
+        }
+    }
+
+    // Hands out a slot for a new red leaf, reusing a freed one first
+    private long allocate(int value) {
+        long node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left(node);
+        } else {
+            if ((nextSlot >>> SEGMENT_SHIFT) == segmentCount) {
+                addSegment();
+            }
+            node = nextSlot++;
+        }
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        setParent(node, NIL);
+        setKey(node, value);
+        setColor(node, RED); // New nodes are always red
+        return node;
+    }
+
+    // Puts a slot on the free list, its left field links to the next free slot
+    private void free(long node) {
+        setLeft(node, freeList);
+        freeList = node;
+    }
+
+    // Maps one more segment of zeroed memory, in an arena of its own so clear can give it back
+    private void addSegment() {
+        if (segmentCount == segments.length) {
+            arenas = Arrays.copyOf(arenas, segmentCount * 2);
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+        }
+        Arena arena = Arena.ofShared();
+        arenas[segmentCount] = arena;
+        segments[segmentCount] = arena.allocate(SEGMENT_BYTES, NODE_BYTES);
+        segmentCount++;
+    }
+
+    /*
+    * Node Field Access
+    */
+
+    private MemorySegment segment(long node) {
+        return segments[(int) (node >>> SEGMENT_SHIFT)];
+    }
+
+    private static long offset(long node) {
+        return (node & SEGMENT_MASK) * NODE_BYTES;
+    }
+
+    private long left(long node) {
+        return segment(node).get(ValueLayout.JAVA_LONG, offset(node) + LEFT);
+    }
+
+    private void setLeft(long node, long child) {
+        segment(node).set(ValueLayout.JAVA_LONG, offset(node) + LEFT, child);
+    }
+
+    private long right(long node) {
+        return segment(node).get(ValueLayout.JAVA_LONG, offset(node) + RIGHT);
+    }
+
+    private void setRight(long node, long child) {
+        segment(node).set(ValueLayout.JAVA_LONG, offset(node) + RIGHT, child);
+    }
+
+    private long parent(long node) {
+        return segment(node).get(ValueLayout.JAVA_LONG, offset(node) + PARENT);
+    }
+
+    private void setParent(long node, long up) {
+        segment(node).set(ValueLayout.JAVA_LONG, offset(node) + PARENT, up);
+    }
+
+    private int key(long node) {
+        return segment(node).get(ValueLayout.JAVA_INT, offset(node) + KEY);
+    }
+
+    private void setKey(long node, int key) {
+        segment(node).set(ValueLayout.JAVA_INT, offset(node) + KEY, key);
+    }
+
+    private byte color(long node) {
+        return segment(node).get(ValueLayout.JAVA_BYTE, offset(node) + COLOR);
+    }
+
+    private void setColor(long node, byte color) {
+        segment(node).set(ValueLayout.JAVA_BYTE, offset(node) + COLOR, color);
+    }
+
+    /*
+    * Rotation Methods
+    */
+
+    private void rotateLeft(long node) {
+        long pivot = right(node);
+        setRight(node, left(pivot));
+        if (left(pivot) != NIL) {
+            setParent(left(pivot), node);
+        }
+        long up = parent(node);
+        setParent(pivot, up);
+        if (up == NIL) {
+            root = pivot;
+        } else if (node == left(up)) {
+            setLeft(up, pivot);
+        } else {
+            setRight(up, pivot);
+        }
+        setLeft(pivot, node);
+        setParent(node, pivot);
+    }
+
+    private void rotateRight(long node) {
+        long pivot = left(node);
+        setLeft(node, right(pivot));
+        if (right(pivot) != NIL) {
+            setParent(right(pivot), node);
+        }
+        long up = parent(node);
+        setParent(pivot, up);
+        if (up == NIL) {
+            root = pivot;
+        } else if (node == right(up)) {
+            setRight(up, pivot);
+        } else {
+            setLeft(up, pivot);
+        }
+        setRight(pivot, node);
+        setParent(node, pivot);
+    }
+
+    //
+    // Off-heap Red Black Tree Visualization
+    //
+
+    private TreeNode<Integer> view(long node) {
+        return node == NIL ? null : new NodeView(node);
+    }
+
+    /**
+     * A node handle seen as a TreeNode for the visualizer, created on demand
+     */
+    private final class NodeView implements TreeNode<Integer> {
+        private final long node;
+
+        NodeView(long node) {
+            this.node = node;
+        }
+
+        @Override
+        public Integer getValue() {
+            return key(node);
+        }
+
+        @Override
+        public TreeNode<Integer> getLeft() {
+            return view(left(node));
+        }
+
+        @Override
+        public TreeNode<Integer> getRight() {
+            return view(right(node));
+        }
+
+        @Override
+        public String getColor() {
+            return color(node) == RED ? "RED" : "BLACK";
+        }
+    }
+
+    //
+    // Off-heap Red Black Tree Serialization
+    //
+
+    // Off-heap memory cannot be written as is, so the tree is saved as its sorted keys and rebuilt on load
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ensureOpen();
+        out.defaultWriteObject();
+        out.writeLong(size);
+        if (root != NIL) {
+            long node = minimum(root);
+            while (node != NIL) {
+                out.writeInt(key(node));
+                node = successor(node);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        init();
+        long count = in.readLong();
+        for (long i = 0; i < count; i++) {
+            insert(in.readInt());
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persistent AVL Tree Implementation
+ * An immutable, path-copying version of AVLTree. A node is never changed once it is built:
+ * insert and delete copy only the nodes on the search path (and the few a rotation touches)
+ * and share every other subtree with the version they started from.
+ *
+ * Properties:
+ * 1. Same balance rules as AVLTree (balance factor of each node is -1, 0, or 1)
+ * 2. Every version stays valid forever, so snapshot() is O(1) and a reader can walk an
+ *    old version while writers keep going, without any locks
+ * 3. A new version is published with a single compare-and-set on the current root
+ */
+public class PersistentAVLTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    //
+    // Persistent AVL Tree Class Setup
+    //
+
+    private final AtomicReference<Version<T>> current;
+
+    /**
+     * Node class for Persistent AVL Tree
+     * All fields are final, so a node can be shared by any number of versions
+     */
+    private static final class Node<T> implements TreeNode<T>, Serializable {
+        final T value;
+        final Node<T> left, right;
+        final int height; // Height of the subtree rooted at this node
+
+        Node(Node<T> left, T value, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            return left;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            return right;
+        }
+
+        @Override
+        public String getColor() {
+            int balance = height(left) - height(right);
+            if (balance > 1 || balance < -1) {
+                return "UNBALANCED"; // Should never happen in valid AVL tree
+            }
+            return "BALANCED";
+        }
+    }
+
+    /**
+     * One version of the tree: a root and the number of values under it, published together
+     */
+    private static final class Version<T> implements Serializable {
+        final Node<T> root;
+        final int size;
+
+        Version(Node<T> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    //
+    // Persistent AVL Tree Constructors
+    //
+
+    public PersistentAVLTree() {
+        this.current = new AtomicReference<>(new Version<>(null, 0));
+    }
+
+    private PersistentAVLTree(Version<T> version) {
+        this.current = new AtomicReference<>(version);
+    }
+
+    //
+    // Persistent AVL Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Persistent AVL Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.DARKGREEN;
+    }
+
+    //
+    // Persistent AVL Tree Version Methods
+    //
+
+    /**
+     * Snapshot
+     * Returns an independent tree holding the current version. Nothing is copied: the
+     * snapshot shares every node with this tree, and later writes to either one leave the other untouched.
+     */
+    public PersistentAVLTree<T> snapshot() {
+        return new PersistentAVLTree<>(current.get());
+    }
+
+    /**
+     * With
+     * Returns a new version that also holds value, leaving this tree as it is.
+     */
+    public PersistentAVLTree<T> with(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        Version<T> version = current.get();
+        Node<T> root = insert(version.root, value);
+        // unchanged: the version already read, a newer one from another writer may not hold value
+        return new PersistentAVLTree<>(root == version.root ? version : new Version<>(root, version.size + 1));
+    }
+
+    /**
+     * Without
+     * Returns a new version that no longer holds value, leaving this tree as it is.
+     */
+    public PersistentAVLTree<T> without(T value) {
+        Version<T> version = current.get();
+        if (value == null) {
+            return new PersistentAVLTree<>(version);
+        }
+        Node<T> root = delete(version.root, value);
+        return new PersistentAVLTree<>(root == version.root ? version : new Version<>(root, version.size - 1));
+    }
+
+    //
+    // Persistent AVL Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     * Builds the next version off the current one and publishes it, retrying if another writer got there first.
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        Version<T> before;
+        Version<T> after;
+        do {
+            before = current.get();
+            Node<T> root = insert(before.root, value);
+            if (root == before.root) {
+                return;  // Duplicate value, nothing to publish
+            }
+            after = new Version<>(root, before.size + 1);
+        } while (!current.compareAndSet(before, after));
+    }
+
+    // Returns the new subtree root, or the same node when value was already present
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, T value) {
+        if (node == null) {
+            return new Node<>(null, value, null);
+        }
+
+        int cmp = value.compareTo(node.value);
+        if (cmp < 0) {
+            Node<T> left = insert(node.left, value);
+            return left == node.left ? node : balance(left, node.value, node.right);
+        }
+        if (cmp > 0) {
+            Node<T> right = insert(node.right, value);
+            return right == node.right ? node : balance(node.left, node.value, right);
+        }
+
+        // Duplicate value, share the existing node
+        return node;
+    }
+
+    /**
+     * Delete
+     * Builds the next version off the current one and publishes it, retrying if another writer got there first.
+     */
+    @Override
+    public boolean delete(T value) {
+        if (value == null) {
+            return false;
+        }
+        Version<T> before;
+        Version<T> after;
+        do {
+            before = current.get();
+            Node<T> root = delete(before.root, value);
+            if (root == before.root) {
+                return false;  // value not found, nothing to publish
+            }
+            after = new Version<>(root, before.size - 1);
+        } while (!current.compareAndSet(before, after));
+        return true;
+    }
+
+    // Returns the new subtree root, or the same node when value was not present
+    private static <T extends Comparable<T>> Node<T> delete(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = value.compareTo(node.value);
+        if (cmp < 0) {
+            Node<T> left = delete(node.left, value);
+            return left == node.left ? node : balance(left, node.value, node.right);
+        }
+        if (cmp > 0) {
+            Node<T> right = delete(node.right, value);
+            return right == node.right ? node : balance(node.left, node.value, right);
+        }
+
+        // Node with only one child or no child: the child takes its place as is
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        // Node with two children: a copy holding the inorder successor replaces it
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(node.left, successor.value, deleteMin(node.right));
+    }
+
+    private static <T> Node<T> deleteMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(deleteMin(node.left), node.value, node.right);
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        // walks one fixed version, so concurrent writers can never get in the way
+        Node<T> node = current.get().root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        current.set(new Version<>(null, 0));
+    }
+
+    @Override
+    public int size() {
+        return current.get().size;
+    }
+
+    /**
+     * Inorder Traversal
+     */
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>();
+        inorderTraversal(current.get().root, result);
+        return result;
+    }
+
+    private static <T> void inorderTraversal(Node<T> node, List<T> result) {
+        if (node != null) {
+            inorderTraversal(node.left, result);
+            result.add(node.value);
+            inorderTraversal(node.right, result);
+        }
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return current.get().root;
+    }
+
+    //
+    // Persistent AVL Tree Specific Methods
+    //
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Builds the node (left, value, right), rotating with fresh nodes if the two sides differ by 2.
+     * The nodes passed in are never modified.
+     */
+    private static <T> Node<T> balance(Node<T> left, T value, Node<T> right) {
+        int balance = height(left) - height(right);
+
+        // Left heavy
+        if (balance > 1) {
+            // Left-Left Case (Right Rotation)
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.left, left.value, new Node<>(left.right, value, right));
+            }
+            // Left-Right Case (Left rotation on left child, then Right rotation)
+            Node<T> pivot = left.right;
+            return new Node<>(new Node<>(left.left, left.value, pivot.left), pivot.value, new Node<>(pivot.right, value, right));
+        }
+
+        // Right heavy
+        if (balance < -1) {
+            // Right-Right Case (Left Rotation)
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(new Node<>(left, value, right.left), right.value, right.right);
+            }
+            // Right-Left Case (Right rotation on right child, then Left rotation)
+            Node<T> pivot = right.left;
+            return new Node<>(new Node<>(left, value, pivot.left), pivot.value, new Node<>(pivot.right, right.value, right.right));
+        }
+
+        return new Node<>(left, value, right);
+    }
+
+    /**
+     * Check if the tree is balanced - for debugging and testing on runtime
+     */
+    public boolean isBalanced() {
+        return isBalanced(current.get().root);
+    }
+
+    private static boolean isBalanced(Node<?> node) {
+        if (node == null) {
+            return true;
+        }
+        if (Math.abs(height(node.left) - height(node.right)) > 1) {
+            return false;
+        }
+        return isBalanced(node.left) && isBalanced(node.right);
+    }
+}
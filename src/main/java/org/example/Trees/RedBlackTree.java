@@ -3,7 +3,11 @@ package org.example.Trees;
 import javafx.scene.paint.Color;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Red-Black Tree Implementation
@@ -22,13 +26,18 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
     private static final boolean RED = true;
     private static final boolean BLACK = false;
 
+    // subtrees with at least this black height have their two halves combined in parallel
+    private static final int PARALLEL_BLACK_HEIGHT = 7;
+    // batch inserts fork a task for parts of at least this many values
+    private static final int PARALLEL_BATCH = 1 << 12;
+
     private Node root;
     private int size;
 
     /**
      * Node class for Red-Black Tree
      */
-    private class Node implements TreeNode<T>, Serializable {
+    protected class Node implements TreeNode<T>, Serializable {
         T value;
         Node left, right, parent;
         boolean color; // RED = true, BLACK = false
@@ -83,6 +92,42 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
         this.size = 0;
     }
 
+    /**
+     * Bulk Load
+     * Builds a red-black tree straight from values in strictly ascending order.
+     * The middle value of every range becomes the subtree root, which fills every level
+     * except possibly the deepest one. Nodes on that deepest level are colored red and
+     * everything above it black, so every path has the same black height. Linear time,
+     * no fixInsert or rotations.
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> fromSorted(List<T> sorted) {
+        List<T> values = SortedBatches.checkSorted(sorted);
+        RedBlackTree<T> tree = new RedBlackTree<>();
+        tree.setRoot(tree.buildPart(values, 0, values.size()));  // Root must be black
+        tree.size = values.size();
+        return tree;
+    }
+
+    // Builds sorted[from, to) as a detached part
+    private Part buildPart(List<T> sorted, int from, int to) {
+        // depth of the deepest level of a median split tree with n nodes is floor(log2(n))
+        int redDepth = 31 - Integer.numberOfLeadingZeros(Math.max(to - from, 1));
+        Node built = build(sorted, from, to, 0, redDepth);
+        return new Part(built, blackHeight(built));
+    }
+
+    // Builds the balanced subtree holding sorted[from, to), coloring the deepest level red
+    private Node build(List<T> sorted, int from, int to, int depth, int redDepth) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = createNode(sorted.get(mid));
+        node.color = (depth == redDepth) ? RED : BLACK;
+        link(node, build(sorted, from, mid, depth + 1, redDepth), build(sorted, mid + 1, to, depth + 1, redDepth));
+        return node;
+    }
+
     //
     // Red Black Tree Helper Methods
     //
@@ -111,7 +156,7 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
             throw new IllegalArgumentException("Cannot insert null value");
         }
 
-        Node newNode = new Node(value); // make the new node block
+        Node newNode = createNode(value); // make the new node block
 
         // if no root, make new root
         if (root == null) {
@@ -156,6 +201,7 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
         }
 
         size++;
+        updatePath(parent);  // the new value sits below every node on the search path
         // eof BST Insert
 
         // fix the violations and symmetry with respect to newNode
@@ -314,6 +360,7 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
 
             // clear all pointers from deleted node
             node.left = node.right = node.parent = null;
+            updatePath(replacement.parent);
 
             // Fixes violation if deleted node was black
             if (node.color == BLACK) {
@@ -343,7 +390,9 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
                     node.parent.right = null;
                 }
                 // parent
+                Node parent = node.parent;
                 node.parent = null;
+                updatePath(parent);
             }
         }
     }
@@ -506,6 +555,51 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
         return root;
     }
 
+    //
+    // Red Black Tree Augmentation Hooks
+    //
+
+    /**
+     * Every node is made here, so a subclass can hang extra per-node data off its own Node type
+     */
+    protected Node createNode(T value) {
+        return new Node(value);
+    }
+
+    /**
+     * Recomputes whatever a subclass keeps about node's subtree from node and its two children.
+     * Called bottom-up whenever node's children change: rotations, the delete path, joins.
+     */
+    protected void update(Node node) {
+    }
+
+    // Recomputes node and every ancestor after a value was added or removed below them
+    protected void updatePath(Node node) {
+        for (; node != null; node = node.parent) {
+            update(node);
+        }
+    }
+
+    protected Node rootNode() {
+        return root;
+    }
+
+    /**
+     * Every tree that split, join and the set methods return is made here, so the result
+     * is of the same kind as the tree it came from
+     */
+    protected RedBlackTree<T> newEmpty() {
+        return new RedBlackTree<>();
+    }
+
+    /**
+     * Whether other's nodes may be moved into a tree made by newEmpty: the trees must be of
+     * the same class, and a subclass adds whatever else its nodes depend on
+     */
+    protected boolean combinableWith(RedBlackTree<T> other) {
+        return getClass() == other.getClass();
+    }
+
     /**
     * Rotation Methods
     */
@@ -540,6 +634,10 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
         // The node is rotated as right child's left child
         rightChild.left = node;
         node.parent = rightChild;
+
+        // node is now below right child, so it is recomputed first
+        update(node);
+        update(rightChild);
     }
 
     private void rotateRight(Node node) {
@@ -572,5 +670,546 @@ public class RedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializa
         // The node is rotated as left child's right child
         leftChild.right = node;
         node.parent = leftChild;
+
+        // node is now below left child, so it is recomputed first
+        update(node);
+        update(leftChild);
+    }
+
+    //
+    // Red Black Tree Range Methods
+    //
+
+    /**
+     * Delete Range
+     * Removes every value in [lo, hi] in one pass. The tree is split around lo and hi,
+     * the middle piece is dropped whole, and the two outer pieces are joined back,
+     * so recoloring and rotations only happen along the split paths instead of a
+     * full fixDelete per value. Returns the number of values removed.
+     */
+    public int deleteRange(T lo, T hi) {
+        // base case: empty tree, missing bounds or an empty range
+        if (root == null || lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return 0;
+        }
+
+        // cut off everything below lo, then everything above hi
+        Split below = split(root, blackHeight(root), lo);
+        Split above = split(below.greater.root, below.greater.blackHeight, hi);
+
+        // what is left between the two cuts (plus the bounds themselves) gets dropped
+        int removed = countNodes(above.less.root);
+        if (below.match != null) {
+            removed++;
+        }
+        if (above.match != null) {
+            removed++;
+        }
+
+        // glue the outer pieces back together
+        setRoot(join2(below.less, above.greater));
+        size -= removed;
+        return removed;
+    }
+
+    //
+    // Red Black Tree Join Based Set Methods
+    //
+
+    /**
+     * Join
+     * Builds one tree out of left, key and right, where every value in left is smaller than key
+     * and every value in right is larger. Takes time proportional to the difference in black height.
+     * The nodes of left and right are moved into the result, so both are left empty.
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> join(RedBlackTree<T> left, T key, RedBlackTree<T> right) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        if (left == right) {
+            throw new IllegalArgumentException("Cannot join a tree with itself");
+        }
+        if ((left.root != null && left.maximum(left.root).value.compareTo(key) >= 0) ||
+            (right.root != null && right.minimum(right.root).value.compareTo(key) <= 0)) {
+            throw new IllegalArgumentException("Values in left must be smaller, and values in right larger, than the key");
+        }
+        checkCombinable(left, right);
+
+        RedBlackTree<T> result = left.newEmpty();
+        result.setRoot(result.join(left.whole(), result.createNode(key), right.whole()));
+        result.size = left.size + 1 + right.size;
+        left.clear();
+        right.clear();
+        return result;
+    }
+
+    /**
+     * Split
+     * Splits this tree around key: this tree keeps every value smaller than key,
+     * and the returned tree gets every value greater than or equal to key.
+     * Takes O(log n) plus the size of the returned tree, which is counted on the way out.
+     */
+    public RedBlackTree<T> split(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot split on a null value");
+        }
+        Split parts = split(root, blackHeight(root), key);
+
+        RedBlackTree<T> greater = newEmpty();
+        greater.setRoot(parts.match == null ? parts.greater : join(new Part(null, 0), parts.match, parts.greater));
+        greater.size = countNodes(greater.root);
+
+        setRoot(parts.less);
+        size -= greater.size;
+        return greater;
+    }
+
+    /**
+     * Union
+     * Returns a tree holding every value of a and b. Each level splits one tree around the
+     * other's root and recurses on both halves in parallel on the common ForkJoinPool,
+     * for O(m log(n/m + 1)) work with m <= n. The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> union(RedBlackTree<T> a, RedBlackTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        RedBlackTree<T> result = a.newEmpty();
+        result.setRoot(result.union(a.whole(), b.whole(), shared));
+        result.size = a.size + b.size - shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    /**
+     * Intersection
+     * Returns a tree holding the values present in both a and b, built the same way as union.
+     * The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> intersection(RedBlackTree<T> a, RedBlackTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        RedBlackTree<T> result = a.newEmpty();
+        result.setRoot(result.intersection(a.whole(), b.whole(), shared));
+        result.size = shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    /**
+     * Difference
+     * Returns a tree holding the values of a that are not in b, built the same way as union.
+     * The nodes of a and b are reused, both are left empty.
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> difference(RedBlackTree<T> a, RedBlackTree<T> b) {
+        checkDistinct(a, b);
+        checkCombinable(a, b);
+        AtomicInteger shared = new AtomicInteger();
+        RedBlackTree<T> result = a.newEmpty();
+        result.setRoot(result.difference(a.whole(), b.whole(), shared));
+        result.size = a.size - shared.get();
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    // Splits b around a's root, unions the matching halves and joins them back with a's root
+    private Part union(Part a, Part b, AtomicInteger shared) {
+        if (a.root == null) {
+            return b;
+        }
+        if (b.root == null) {
+            return a;
+        }
+        Node pivot = a.root;
+        int childHeight = a.blackHeight - (pivot.color == BLACK ? 1 : 0);
+        Part left = detach(pivot.left, childHeight);
+        Part right = detach(pivot.right, childHeight);
+        Split parts = split(b.root, b.blackHeight, pivot.value);
+        if (parts.match != null) {
+            shared.incrementAndGet();  // value is in both, a's node is kept
+        }
+        Split halves = inParallel(a.blackHeight >= PARALLEL_BLACK_HEIGHT,
+                () -> union(left, parts.less, shared),
+                () -> union(right, parts.greater, shared));
+        return join(halves.less, pivot, halves.greater);
+    }
+
+    // Splits b around a's root, keeps a's root only if b had it too
+    private Part intersection(Part a, Part b, AtomicInteger shared) {
+        if (a.root == null || b.root == null) {
+            return new Part(null, 0);
+        }
+        Node pivot = a.root;
+        int childHeight = a.blackHeight - (pivot.color == BLACK ? 1 : 0);
+        Part left = detach(pivot.left, childHeight);
+        Part right = detach(pivot.right, childHeight);
+        Split parts = split(b.root, b.blackHeight, pivot.value);
+        Split halves = inParallel(a.blackHeight >= PARALLEL_BLACK_HEIGHT,
+                () -> intersection(left, parts.less, shared),
+                () -> intersection(right, parts.greater, shared));
+        if (parts.match != null) {
+            shared.incrementAndGet();
+            return join(halves.less, pivot, halves.greater);
+        }
+        return join2(halves.less, halves.greater);
+    }
+
+    // Splits a around b's root, drops the matching value and joins what is left of each half
+    private Part difference(Part a, Part b, AtomicInteger shared) {
+        if (a.root == null) {
+            return a;
+        }
+        if (b.root == null) {
+            return a;
+        }
+        Node pivot = b.root;
+        int childHeight = b.blackHeight - (pivot.color == BLACK ? 1 : 0);
+        Part left = detach(pivot.left, childHeight);
+        Part right = detach(pivot.right, childHeight);
+        Split parts = split(a.root, a.blackHeight, pivot.value);
+        if (parts.match != null) {
+            shared.incrementAndGet();
+        }
+        Split halves = inParallel(b.blackHeight >= PARALLEL_BLACK_HEIGHT,
+                () -> difference(parts.less, left, shared),
+                () -> difference(parts.greater, right, shared));
+        return join2(halves.less, halves.greater);
+    }
+
+    // Evaluates the two independent halves, forking the left one onto the pool when it is worth a task
+    private Split inParallel(boolean fork, Supplier<Part> left, Supplier<Part> right) {
+        if (!fork) {
+            return new Split(left.get(), null, right.get());
+        }
+        ForkJoinTask<Part> leftTask = ForkJoinTask.adapt(left::get).fork();
+        Part rightResult = right.get();
+        return new Split(leftTask.join(), null, rightResult);
+    }
+
+    // Set operations move nodes between the trees, so the same tree cannot be on both sides
+    private static void checkDistinct(RedBlackTree<?> a, RedBlackTree<?> b) {
+        if (a == b) {
+            throw new IllegalArgumentException("Cannot combine a tree with itself");
+        }
+    }
+
+    // Nodes keep whatever their own kind of tree hangs off them, so only the same kind can take them over
+    private static <T extends Comparable<T>> void checkCombinable(RedBlackTree<T> a, RedBlackTree<T> b) {
+        if (!a.combinableWith(b) || !b.combinableWith(a)) {
+            throw new IllegalArgumentException("Cannot combine trees of different kinds");
+        }
+    }
+
+    //
+    // Red Black Tree Batch Methods
+    //
+
+    /**
+     * Insert All
+     * Inserts a whole batch of values in one pass, see SortedBatches. A part that reaches an
+     * empty spot is built with the bulk loader, and recoloring and rotations happen along the
+     * join paths instead of once per value.
+     */
+    public void insertAll(Collection<? extends T> values) {
+        List<T> batch = SortedBatches.sortedBatch(values);
+        AtomicInteger existing = new AtomicInteger();
+        setRoot(insertAll(whole(), batch, 0, batch.size(), existing));
+        size += batch.size() - existing.get();
+    }
+
+    // Inserts sorted[from, to) into the part and returns the new part
+    private Part insertAll(Part part, List<T> sorted, int from, int to, AtomicInteger existing) {
+        if (from >= to) {
+            return part;
+        }
+        if (part.root == null) {
+            return buildPart(sorted, from, to);
+        }
+
+        // cut the batch at this node's value, a value already in the tree is skipped
+        Node pivot = part.root;
+        int cut = SortedBatches.lowerBound(sorted, from, to, pivot.value);
+        boolean found = cut < to && sorted.get(cut).compareTo(pivot.value) == 0;
+        if (found) {
+            existing.incrementAndGet();
+        }
+        int rightFrom = found ? cut + 1 : cut;
+
+        int childHeight = part.blackHeight - (pivot.color == BLACK ? 1 : 0);
+        Part left = detach(pivot.left, childHeight);
+        Part right = detach(pivot.right, childHeight);
+        Split halves = inParallel(to - from >= PARALLEL_BATCH,
+                () -> insertAll(left, sorted, from, cut, existing),
+                () -> insertAll(right, sorted, rightFrom, to, existing));
+        return join(halves.less, pivot, halves.greater);
+    }
+
+    //
+    // Red Black Tree Join Helpers
+    //
+
+    // The whole tree as a part
+    private Part whole() {
+        return new Part(root, blackHeight(root));
+    }
+
+    // Installs a joined part as this tree's root, root must always be black
+    private void setRoot(Part part) {
+        root = part.root;
+        if (root != null) {
+            root.parent = null;
+            root.color = BLACK;
+        }
+    }
+
+    // find the right most node
+    private Node maximum(Node node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    /**
+     * A detached subtree together with its black height
+     * (black nodes on any path from the root down to a leaf, root included)
+     */
+    private class Part {
+        Node root;
+        int blackHeight;
+
+        Part(Node root, int blackHeight) {
+            this.root = root;
+            this.blackHeight = blackHeight;
+        }
+    }
+
+    /**
+     * Result of splitting a subtree around a key:
+     * the values smaller than the key, the node holding the key (if any), and the values greater
+     */
+    private class Split {
+        Part less;
+        Node match;
+        Part greater;
+
+        Split(Part less, Node match, Part greater) {
+            this.less = less;
+            this.match = match;
+            this.greater = greater;
+        }
+    }
+
+    // Splits the subtree into the values less than and greater than key, rejoining along the search path
+    private Split split(Node node, int blackHeight, T key) {
+        // base case: empty subtree splits into two empty pieces
+        if (node == null) {
+            return new Split(new Part(null, 0), null, new Part(null, 0));
+        }
+
+        // detach the children, the node itself is reused as the join key on the way back up
+        int childHeight = blackHeight - (node.color == BLACK ? 1 : 0);
+        Part left = detach(node.left, childHeight);
+        Part right = detach(node.right, childHeight);
+        node.left = null;
+        node.right = null;
+
+        int cmp = key.compareTo(node.value);
+        if (cmp == 0) {
+            return new Split(left, node, right);
+        }
+
+        if (cmp < 0) {
+            // key is on the left, so this node and its right subtree belong to the greater side
+            Split result = split(left.root, left.blackHeight, key);
+            result.greater = join(result.greater, node, right);
+            return result;
+        }
+
+        // key is on the right, so this node and its left subtree belong to the less side
+        Split result = split(right.root, right.blackHeight, key);
+        result.less = join(left, node, result.less);
+        return result;
+    }
+
+    // Joins two red-black subtrees where every value in left < mid < every value in right
+    private Part join(Part left, Node mid, Part right) {
+        // both sides are treated as black rooted trees
+        blacken(left);
+        blacken(right);
+        mid.left = null;
+        mid.right = null;
+        mid.parent = null;
+
+        // left is taller: hang mid and right off the right spine of left
+        if (left.blackHeight > right.blackHeight) {
+            Node joined = joinRight(left.root, left.blackHeight, mid, right.root, right.blackHeight);
+            joined.parent = null;
+            if (isRed(joined) && isRed(joined.right)) {
+                joined.color = BLACK;  // red-red pushed all the way to the top, absorb it at the root
+                return new Part(joined, left.blackHeight + 1);
+            }
+            return new Part(joined, left.blackHeight);
+        }
+
+        // right is taller: hang left and mid off the left spine of right
+        if (right.blackHeight > left.blackHeight) {
+            Node joined = joinLeft(left.root, left.blackHeight, mid, right.root, right.blackHeight);
+            joined.parent = null;
+            if (isRed(joined) && isRed(joined.left)) {
+                joined.color = BLACK;
+                return new Part(joined, right.blackHeight + 1);
+            }
+            return new Part(joined, right.blackHeight);
+        }
+
+        // same black height: a red mid on top keeps every path the same
+        link(mid, left.root, right.root);
+        mid.color = RED;
+        return new Part(mid, left.blackHeight);
+    }
+
+    // Descends the right spine of left to the black node matching right's black height and links mid there
+    private Node joinRight(Node left, int leftHeight, Node mid, Node right, int rightHeight) {
+        if (leftHeight == rightHeight && !isRed(left)) {
+            link(mid, left, right);
+            mid.color = RED;
+            return mid;
+        }
+
+        // red nodes do not count towards the black height
+        int childHeight = leftHeight - (left.color == BLACK ? 1 : 0);
+        Node joined = joinRight(left.right, childHeight, mid, right, rightHeight);
+        left.right = joined;
+        joined.parent = left;
+        update(left);
+
+        // black parent with two reds in a row below it on the right: recolor and rotate left
+        if (left.color == BLACK && isRed(joined) && isRed(joined.right)) {
+            joined.right.color = BLACK;
+            return rotateLeftDetached(left);
+        }
+        return left;
+    }
+
+    // Descends the left spine of right to the black node matching left's black height and links mid there
+    private Node joinLeft(Node left, int leftHeight, Node mid, Node right, int rightHeight) {
+        if (leftHeight == rightHeight && !isRed(right)) {
+            link(mid, left, right);
+            mid.color = RED;
+            return mid;
+        }
+
+        // red nodes do not count towards the black height
+        int childHeight = rightHeight - (right.color == BLACK ? 1 : 0);
+        Node joined = joinLeft(left, leftHeight, mid, right.left, childHeight);
+        right.left = joined;
+        joined.parent = right;
+        update(right);
+
+        // black parent with two reds in a row below it on the left: recolor and rotate right
+        if (right.color == BLACK && isRed(joined) && isRed(joined.left)) {
+            joined.left.color = BLACK;
+            return rotateRightDetached(right);
+        }
+        return right;
+    }
+
+    // Joins two red-black subtrees with no key in between by pulling the minimum out of the right one
+    private Part join2(Part left, Part right) {
+        if (left.root == null) {
+            return right;
+        }
+        if (right.root == null) {
+            return left;
+        }
+        Split rest = split(right.root, right.blackHeight, minimum(right.root).value);
+        return join(left, rest.match, rest.greater);
+    }
+
+    // Makes node the parent of left and right
+    private void link(Node node, Node left, Node right) {
+        node.left = left;
+        node.right = right;
+        if (left != null) {
+            left.parent = node;
+        }
+        if (right != null) {
+            right.parent = node;
+        }
+        update(node);
+    }
+
+    // Cuts a subtree loose from its parent so it can stand on its own
+    private Part detach(Node node, int blackHeight) {
+        if (node != null) {
+            node.parent = null;
+        }
+        return new Part(node, blackHeight);
+    }
+
+    // A red root can always be recolored black, it just adds one to the black height
+    private void blacken(Part part) {
+        if (isRed(part.root)) {
+            part.root.color = BLACK;
+            part.blackHeight++;
+        }
+    }
+
+    private boolean isRed(Node node) {
+        return node != null && node.color == RED;
+    }
+
+    // Counts the black nodes down the left spine, every path has the same count
+    private int blackHeight(Node node) {
+        int height = 0;
+        while (node != null) {
+            if (node.color == BLACK) {
+                height++;
+            }
+            node = node.left;
+        }
+        return height;
+    }
+
+    private int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return 1 + countNodes(node.left) + countNodes(node.right);
+    }
+
+    // Same as rotateLeft but on a detached subtree, the caller links the returned root back in
+    private Node rotateLeftDetached(Node node) {
+        Node rightChild = node.right;
+        node.right = rightChild.left;
+        if (rightChild.left != null) {
+            rightChild.left.parent = node;
+        }
+        rightChild.parent = node.parent;
+        rightChild.left = node;
+        node.parent = rightChild;
+        update(node);
+        update(rightChild);
+        return rightChild;
+    }
+
+    // Same as rotateRight but on a detached subtree, the caller links the returned root back in
+    private Node rotateRightDetached(Node node) {
+        Node leftChild = node.left;
+        node.left = leftChild.right;
+        if (leftChild.right != null) {
+            leftChild.right.parent = node;
+        }
+        leftChild.parent = node.parent;
+        leftChild.right = node;
+        node.parent = leftChild;
+        update(node);
+        update(leftChild);
+        return leftChild;
     }
 }
@@ -0,0 +1,336 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scapegoat Tree Implementation
+ * A balanced binary search tree whose nodes hold nothing but the value and two children: no
+ * height, no color, no parent pointer, and a static node class so not even a reference to the
+ * tree. Balance is kept by rebuilding whole subtrees instead of rotating.
+ *
+ * Properties:
+ * 1. Binary Search Tree property (left < parent < right)
+ * 2. Height stays at most log(maxSize) / log(1 / alpha) + 1, so lookups are O(log n) worst case
+ * 3. When an insert lands deeper than that, some ancestor on its path has a child holding more
+ *    than alpha of its nodes (the scapegoat); that subtree is rebuilt perfectly balanced in linear time
+ * 4. When deletes shrink the tree below alpha * maxSize, the whole tree is rebuilt
+ *
+ * Rebuilds make insert and delete O(log n) amortized. Subtree sizes are counted only while
+ * looking for a scapegoat, which is the price of not storing them.
+ */
+public class ScapegoatTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    private static final double DEFAULT_ALPHA = 0.7;
+
+    private final double alpha;
+    private final double logInverseAlpha;
+    private Node<T> root;
+    private int size;
+    private int maxSize; // largest size since the last full rebuild
+
+    /**
+     * NODE CLASS for the Scapegoat Tree
+     * Static, so a node is only a header and three references
+     */
+    private static final class Node<T> implements TreeNode<T>, Serializable {
+        T value;
+        Node<T> left, right;
+
+        Node(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            return left;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            return right;
+        }
+
+        @Override
+        public String getColor() {
+            return "SCAPEGOAT";
+        }
+    }
+
+    //
+    // Scapegoat Tree Constructors
+    //
+
+    public ScapegoatTree() {
+        this(DEFAULT_ALPHA);
+    }
+
+    /**
+     * Alpha is the largest share of a subtree one child may hold: closer to 0.5 keeps the tree
+     * shallower but rebuilds more often, closer to 1 the other way round
+     */
+    public ScapegoatTree(double alpha) {
+        if (!(alpha > 0.5 && alpha < 1)) {
+            throw new IllegalArgumentException("Alpha must be between 0.5 and 1");
+        }
+        this.alpha = alpha;
+        this.logInverseAlpha = Math.log(1 / alpha);
+    }
+
+    //
+    // Scapegoat Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Scapegoat Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.OLIVE;
+    }
+
+    // Deepest an insert may go in a tree of n nodes before a scapegoat has to be found
+    private int heightLimit(int n) {
+        return (int) (Math.log(n) / logInverseAlpha);
+    }
+
+    // Iterative, nothing recurses deeper than the subtree it is handed
+    private int countNodes(Node<T> node) {
+        int count = 0;
+        Node<T>[] stack = newPath();
+        int top = 0;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack = grow(stack, top);
+                stack[top++] = node;
+                node = node.left;
+            }
+            node = stack[--top];
+            count++;
+            node = node.right;
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] newPath() {
+        return (Node<T>[]) new Node<?>[heightLimit(Math.max(maxSize, 2)) + 2];
+    }
+
+    private Node<T>[] grow(Node<T>[] path, int index) {
+        return index < path.length ? path : Arrays.copyOf(path, 2 * path.length);
+    }
+
+    /**
+     * Rebuild
+     * Lays the n nodes of the subtree out in order and links them back up perfectly balanced
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T> rebuild(Node<T> node, int n) {
+        Node<T>[] nodes = (Node<T>[]) new Node<?>[n];
+        Node<T>[] stack = newPath();
+        int top = 0;
+        int index = 0;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack = grow(stack, top);
+                stack[top++] = node;
+                node = node.left;
+            }
+            node = stack[--top];
+            nodes[index++] = node;
+            node = node.right;
+        }
+        return build(nodes, 0, n);
+    }
+
+    private Node<T> build(Node<T>[] nodes, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node<T> node = nodes[mid];
+        node.left = build(nodes, from, mid);
+        node.right = build(nodes, mid + 1, to);
+        return node;
+    }
+
+    //
+    // Scapegoat Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        if (root == null) {
+            root = new Node<>(value);
+            size = maxSize = 1;
+            return;
+        }
+
+        // remember the path, nodes have no parent pointer
+        Node<T>[] path = newPath();
+        int depth = 0;
+        Node<T> node = root;
+        while (true) {
+            int cmp = value.compareTo(node.value);
+            // Value already exists, don't insert
+            if (cmp == 0) {
+                return;
+            }
+            path = grow(path, depth);
+            path[depth++] = node;
+            Node<T> next = cmp < 0 ? node.left : node.right;
+            if (next == null) {
+                break;
+            }
+            node = next;
+        }
+
+        Node<T> fresh = new Node<>(value);
+        if (value.compareTo(node.value) < 0) {
+            node.left = fresh;
+        } else {
+            node.right = fresh;
+        }
+        size++;
+        maxSize = Math.max(maxSize, size);
+
+        if (depth > heightLimit(size)) {
+            // walk back up, counting subtree sizes, until a child holds more than alpha of its parent
+            Node<T> child = fresh;
+            int childSize = 1;
+            for (int i = depth - 1; i >= 0; i--) {
+                Node<T> parent = path[i];
+                int parentSize = childSize + 1 + countNodes(parent.left == child ? parent.right : parent.left);
+                if (childSize > alpha * parentSize) {
+                    Node<T> rebuilt = rebuild(parent, parentSize);
+                    if (i == 0) {
+                        root = rebuilt;
+                    } else if (path[i - 1].left == parent) {
+                        path[i - 1].left = rebuilt;
+                    } else {
+                        path[i - 1].right = rebuilt;
+                    }
+                    return;
+                }
+                child = parent;
+                childSize = parentSize;
+            }
+        }
+    }
+
+    /**
+     * Delete
+     */
+    @Override
+    public boolean delete(T value) {
+        if (value == null) {
+            return false;
+        }
+        Node<T> parent = null;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                break;
+            }
+            parent = node;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        if (node == null) {
+            return false;
+        }
+
+        // Node with two children: take the successor's value and remove the successor instead
+        if (node.left != null && node.right != null) {
+            Node<T> successorParent = node;
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successorParent = successor;
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            parent = successorParent;
+            node = successor;
+        }
+
+        Node<T> child = node.left != null ? node.left : node.right;
+        if (parent == null) {
+            root = child;
+        } else if (parent.left == node) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
+        size--;
+
+        if (size < alpha * maxSize) {
+            root = rebuild(root, size);
+            maxSize = size;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (value == null) {
+            return false;
+        }
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        maxSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        inorderTraversal(root, result);
+        return result;
+    }
+
+    private void inorderTraversal(Node<T> node, List<T> result) {
+        if (node != null) {
+            inorderTraversal(node.left, result);
+            result.add(node.value);
+            inorderTraversal(node.right, result);
+        }
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.Trees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The input handling shared by the fromSorted and insertAll methods of AVLTree, RedBlackTree
+ * and BTree, so the rules for null and out of order values are the same in every tree.
+ *
+ * Each insertAll inserts a whole batch in one pass: the batch is sorted once, then cut at the
+ * keys of every node on the way down, so every part only descends into its own subtree, and
+ * large parts run in parallel on the common ForkJoinPool. Only what a part does when it
+ * reaches the bottom, and how the pieces are joined back, differs between the trees.
+ */
+final class SortedBatches {
+    private SortedBatches() {
+    }
+
+    /**
+     * Rejects null or out of order input, and makes sure indexed access is cheap
+     */
+    static <T extends Comparable<T>> List<T> checkSorted(List<T> sorted) {
+        if (sorted == null) {
+            throw new IllegalArgumentException("Cannot build from a null list");
+        }
+        List<T> values = (sorted instanceof RandomAccess) ? sorted : new ArrayList<>(sorted);
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+            if (i > 0 && values.get(i - 1).compareTo(values.get(i)) >= 0) {
+                throw new IllegalArgumentException("Values must be in strictly ascending order");
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Copies the batch, rejects nulls, sorts it in parallel and drops repeated values
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<T>> List<T> sortedBatch(Collection<? extends T> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Cannot insert a null collection");
+        }
+        T[] batch = (T[]) values.toArray(new Comparable<?>[0]);
+        for (T value : batch) {
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot insert null value");
+            }
+        }
+        Arrays.parallelSort(batch);
+
+        int distinct = 0;
+        for (T value : batch) {
+            if (distinct == 0 || batch[distinct - 1].compareTo(value) != 0) {
+                batch[distinct++] = value;
+            }
+        }
+        return Arrays.asList(batch).subList(0, distinct);
+    }
+
+    /**
+     * First index in sorted[from, to) whose value is >= key
+     */
+    static <T extends Comparable<T>> int lowerBound(List<T> sorted, int from, int to, T key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (sorted.get(mid).compareTo(key) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
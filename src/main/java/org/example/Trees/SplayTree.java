@@ -0,0 +1,293 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Splay Tree Implementation
+ * A self-adjusting binary search tree: every access moves the value it touched to the root,
+ * so recently and frequently used values stay near the top. Operations are amortized
+ * O(log n), and a skewed workload that keeps hitting a small hot set runs on much shorter
+ * paths than in a tree balanced for uniform access.
+ *
+ * Splaying is top-down (Sleator and Tarjan): one pass down the search path that cuts the tree
+ * into a left and a right part and reassembles them at the end, with no recursion and no
+ * parent pointers. A splay tree can be a long chain at times, so traversal and serialization
+ * are iterative as well.
+ *
+ * contains splays too, so even lookups change the tree: threads that share one need a lock
+ * around reads as well as writes.
+ */
+public class SplayTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    private transient Node root;
+    private transient int size;
+    private transient Node header;   // scratch node for splay, reused
+
+    /**
+     * Node class for Splay Tree
+     */
+    private class Node implements TreeNode<T> {
+        T value;
+        Node left, right;
+
+        Node(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            return left;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            return right;
+        }
+
+        @Override
+        public String getColor() {
+            return this == root ? "ROOT" : "SPLAY";
+        }
+    }
+
+    //
+    // Splay Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Splay Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.PALEVIOLETRED;
+    }
+
+    @Override
+    public boolean mutatingReads() {
+        // contains splays
+        return true;
+    }
+
+    /**
+     * Top-down splay
+     * Brings the node holding value, or the last node on its search path, to the top of the subtree
+     */
+    private Node splay(Node node, T value) {
+        if (node == null) {
+            return null;
+        }
+        // header.right collects the left part, header.left the right part
+        if (header == null) {
+            header = new Node(null);
+        }
+        Node leftMax = header;
+        Node rightMin = header;
+
+        while (true) {
+            int cmp = value.compareTo(node.value);
+            if (cmp < 0) {
+                if (node.left == null) {
+                    break;
+                }
+                // zig-zig: rotate right before linking
+                if (value.compareTo(node.left.value) < 0) {
+                    Node child = node.left;
+                    node.left = child.right;
+                    child.right = node;
+                    node = child;
+                    if (node.left == null) {
+                        break;
+                    }
+                }
+                // link right: node and its right subtree are all greater than value
+                rightMin.left = node;
+                rightMin = node;
+                node = node.left;
+            } else if (cmp > 0) {
+                if (node.right == null) {
+                    break;
+                }
+                // zag-zag: rotate left before linking
+                if (value.compareTo(node.right.value) > 0) {
+                    Node child = node.right;
+                    node.right = child.left;
+                    child.left = node;
+                    node = child;
+                    if (node.right == null) {
+                        break;
+                    }
+                }
+                // link left: node and its left subtree are all smaller than value
+                leftMax.right = node;
+                leftMax = node;
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+
+        // reassemble: the left and right parts hang off the new top
+        leftMax.right = node.left;
+        rightMin.left = node.right;
+        node.left = header.right;
+        node.right = header.left;
+        // the scratch node must not keep detached nodes alive
+        header.left = header.right = null;
+        return node;
+    }
+
+    //
+    // Splay Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        if (root == null) {
+            root = new Node(value);
+            size++;
+            return;
+        }
+
+        root = splay(root, value);
+        int cmp = value.compareTo(root.value);
+        // Value already exists, don't insert
+        if (cmp == 0) {
+            return;
+        }
+
+        // the splayed root is value's neighbor, so the new node goes on top and takes one of its sides
+        Node node = new Node(value);
+        if (cmp < 0) {
+            node.left = root.left;
+            node.right = root;
+            root.left = null;
+        } else {
+            node.right = root.right;
+            node.left = root;
+            root.right = null;
+        }
+        root = node;
+        size++;
+    }
+
+    /**
+     * Delete
+     */
+    @Override
+    public boolean delete(T value) {
+        if (root == null || value == null) {
+            return false;
+        }
+        root = splay(root, value);
+        if (value.compareTo(root.value) != 0) {
+            return false;
+        }
+
+        // splaying the left part for value brings its maximum to the top, with no right child
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            Node right = root.right;
+            root = splay(root.left, value);
+            root.right = right;
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (root == null || value == null) {
+            return false;
+        }
+        root = splay(root, value);
+        return value.compareTo(root.value) == 0;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inorder Traversal
+     * Iterative, a splay tree can be as deep as it is large
+     */
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+
+    //
+    // Splay Tree Serialization
+    //
+
+    // Default serialization recurses once per level, so the values are written as a flat sorted list instead
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(new ArrayList<>(inorderTraversal()));
+    }
+
+    // Rebuilds a balanced tree from the sorted values, the access history is not kept
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        List<T> values = (List<T>) in.readObject();
+        root = build(values, 0, values.size());
+        size = values.size();
+    }
+
+    private Node build(List<T> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = new Node(sorted.get(mid));
+        node.left = build(sorted, from, mid);
+        node.right = build(sorted, mid + 1, to);
+        return node;
+    }
+}
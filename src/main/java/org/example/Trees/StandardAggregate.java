@@ -0,0 +1,90 @@
+package org.example.Trees;
+
+/**
+ * The aggregates behind Aggregate.count, sum, min and max. One shared instance each, so two
+ * trees built with Aggregate.sum() have equal aggregates and can be joined and combined,
+ * and a deserialized tree still has the same one.
+ */
+enum StandardAggregate implements Aggregate<Object, Object> {
+    COUNT {
+        @Override
+        public Object identity() {
+            return 0L;
+        }
+
+        @Override
+        public Object of(Object value) {
+            return 1L;
+        }
+
+        @Override
+        public Object combine(Object left, Object right) {
+            return (Long) left + (Long) right;
+        }
+    },
+    SUM {
+        @Override
+        public Object identity() {
+            return 0L;
+        }
+
+        @Override
+        public Object of(Object value) {
+            return ((Number) value).longValue();
+        }
+
+        @Override
+        public Object combine(Object left, Object right) {
+            return (Long) left + (Long) right;
+        }
+    },
+    MIN {
+        @Override
+        public Object identity() {
+            return null;
+        }
+
+        @Override
+        public Object of(Object value) {
+            return value;
+        }
+
+        @Override
+        public Object combine(Object left, Object right) {
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+            return compare(left, right) <= 0 ? left : right;
+        }
+    },
+    MAX {
+        @Override
+        public Object identity() {
+            return null;
+        }
+
+        @Override
+        public Object of(Object value) {
+            return value;
+        }
+
+        @Override
+        public Object combine(Object left, Object right) {
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+            return compare(left, right) >= 0 ? left : right;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object left, Object right) {
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    // The factories in Aggregate bound the value type to one the constant can handle
+    @SuppressWarnings("unchecked")
+    <T, A> Aggregate<T, A> cast() {
+        return (Aggregate<T, A>) (Aggregate<?, ?>) this;
+    }
+}
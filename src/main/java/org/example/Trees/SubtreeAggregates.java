@@ -0,0 +1,84 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+
+/**
+ * The subtree summaries shared by AugmentedAVLTree and AugmentedRedBlackTree. Each of them
+ * only makes its nodes Summarized and calls update from its base tree's update hook; keeping
+ * and querying the summaries goes through TreeNode's left, right and value, so it is written
+ * once here for both.
+ */
+final class SubtreeAggregates<T extends Comparable<T>, A> implements Serializable {
+    private final Aggregate<? super T, A> aggregate;
+
+    /**
+     * A node that keeps the aggregate of its whole subtree
+     */
+    interface Summarized<A> {
+        A summary();
+        void setSummary(A summary);
+    }
+
+    SubtreeAggregates(Aggregate<? super T, A> aggregate) {
+        if (aggregate == null) {
+            throw new IllegalArgumentException("Aggregate cannot be null");
+        }
+        this.aggregate = aggregate;
+    }
+
+    Aggregate<? super T, A> aggregate() {
+        return aggregate;
+    }
+
+    // Summary of a new leaf holding value
+    A of(T value) {
+        return aggregate.of(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    A summary(TreeNode<T> node) {
+        return node == null ? aggregate.identity() : ((Summarized<A>) node).summary();
+    }
+
+    /**
+     * Recomputes node's summary from its value and its children's summaries
+     */
+    @SuppressWarnings("unchecked")
+    void update(TreeNode<T> node) {
+        ((Summarized<A>) node).setSummary(aggregate.combine(
+                aggregate.combine(summary(node.getLeft()), aggregate.of(node.getValue())), summary(node.getRight())));
+    }
+
+    /**
+     * Aggregate of every value in [lo, hi] below root, in order
+     */
+    A aggregate(TreeNode<T> root, T lo, T hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("Cannot query a null bound");
+        }
+        if (lo.compareTo(hi) > 0) {
+            return aggregate.identity();
+        }
+        return range(root, lo, hi);
+    }
+
+    // A null bound is open: once the paths for lo and hi part, each side only has one bound left
+    private A range(TreeNode<T> node, T lo, T hi) {
+        while (node != null) {
+            T value = node.getValue();
+            if (lo != null && value.compareTo(lo) < 0) {
+                node = node.getRight();
+            } else if (hi != null && value.compareTo(hi) > 0) {
+                node = node.getLeft();
+            } else if (lo == null && hi == null) {
+                return summary(node);
+            } else {
+                // node is in range: the left side is bounded by lo only, the right side by hi only
+                A left = lo == null ? summary(node.getLeft()) : range(node.getLeft(), lo, null);
+                A right = hi == null ? summary(node.getRight()) : range(node.getRight(), null, hi);
+                return aggregate.combine(aggregate.combine(left, aggregate.of(value)), right);
+            }
+        }
+        return aggregate.identity();
+    }
+}
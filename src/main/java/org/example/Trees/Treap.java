@@ -0,0 +1,331 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Treap Implementation
+ * A binary search tree on the values that is at the same time a max-heap on random priorities
+ * given to each node when it is inserted. The tree has the shape it would get from inserting the
+ * values in random order, so its expected depth is O(log n) whatever the real insert order.
+ *
+ * Properties:
+ * 1. Binary Search Tree property (left < parent < right)
+ * 2. Heap property on priorities (parent priority >= child priority)
+ * 3. Every node knows the size of its subtree, so split knows the size of both halves
+ *
+ * split and merge are the primitives everything else is built on, each O(log n) expected:
+ * a range of values comes out with two splits, and two trees whose values do not interleave
+ * become one with a single merge, with no value inserted again.
+ *
+ * The priorities come from the tree's own Random, so a treap built with a seed has the same
+ * shape every time it is given the same operations.
+ */
+public class Treap<T extends Comparable<T>> implements Tree<T>, Serializable {
+    private final Random random;
+    private Node root;
+
+    /**
+     * Node class for Treap
+     */
+    private class Node implements TreeNode<T>, Serializable {
+        T value;
+        final int priority;
+        Node left, right;
+        int count = 1; // Number of nodes in the subtree rooted at this node
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            return left;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            return right;
+        }
+
+        @Override
+        public String getColor() {
+            return "TREAP";
+        }
+
+        @Override
+        public String getAnnotation() {
+            return "p=" + priority;
+        }
+    }
+
+    /**
+     * Both halves of a split: values smaller than the key, and values greater than or equal to it
+     */
+    private class Split {
+        Node less;
+        Node greater;
+    }
+
+    //
+    // Treap Constructors
+    //
+
+    public Treap() {
+        this(new Random());
+    }
+
+    /**
+     * A treap whose priorities, and so whose shape, are reproducible
+     */
+    public Treap(long seed) {
+        this(new Random(seed));
+    }
+
+    private Treap(Random random) {
+        this.random = random;
+    }
+
+    //
+    // Treap Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "Treap";
+    }
+
+    @Override
+    public Color color() {
+        return Color.PERU;
+    }
+
+    private int count(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private void update(Node node) {
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    private Node find(T value) {
+        Node node = root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node getMin(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private Node getMax(Node node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    // Cuts the subtree into values < key and values >= key, along the search path for key
+    private void split(Node node, T key, Split parts) {
+        if (node == null) {
+            parts.less = null;
+            parts.greater = null;
+            return;
+        }
+        if (node.value.compareTo(key) < 0) {
+            split(node.right, key, parts);
+            node.right = parts.less;
+            update(node);
+            parts.less = node;
+        } else {
+            split(node.left, key, parts);
+            node.left = parts.greater;
+            update(node);
+            parts.greater = node;
+        }
+    }
+
+    // Every value in left must be smaller than every value in right, the higher priority stays on top
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    //
+    // Treap Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    @Override
+    public void insert(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        // Value already exists, don't insert
+        if (find(value) != null) {
+            return;
+        }
+        root = insert(root, new Node(value, random.nextInt()));
+    }
+
+    // Goes down until the new node outranks the subtree, then splits the subtree under it
+    private Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (fresh.priority > node.priority) {
+            Split parts = new Split();
+            split(node, fresh.value, parts);
+            fresh.left = parts.less;
+            fresh.right = parts.greater;
+            update(fresh);
+            return fresh;
+        }
+        if (fresh.value.compareTo(node.value) < 0) {
+            node.left = insert(node.left, fresh);
+        } else {
+            node.right = insert(node.right, fresh);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Delete
+     */
+    @Override
+    public boolean delete(T value) {
+        if (value == null || find(value) == null) {
+            return false;
+        }
+        root = delete(root, value);
+        return true;
+    }
+
+    // The node holding value is replaced by the merge of its two children
+    private Node delete(Node node, T value) {
+        int cmp = value.compareTo(node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else {
+            node.right = delete(node.right, value);
+        }
+        update(node);
+        return node;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return value != null && find(value) != null;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public int size() {
+        return count(root);
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size());
+        inorderTraversal(root, result);
+        return result;
+    }
+
+    private void inorderTraversal(Node node, List<T> result) {
+        if (node != null) {
+            inorderTraversal(node.left, result);
+            result.add(node.value);
+            inorderTraversal(node.right, result);
+        }
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+
+    //
+    // Treap Split and Merge Methods
+    //
+
+    /**
+     * Split
+     * Splits this treap around key: this treap keeps every value smaller than key,
+     * and the returned treap gets every value greater than or equal to key.
+     * O(log n) expected, no value is copied or inserted again.
+     */
+    public Treap<T> split(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot split on a null value");
+        }
+        Split parts = new Split();
+        split(root, key, parts);
+
+        Treap<T> greater = new Treap<>(random.nextLong());
+        greater.root = parts.greater;
+        root = parts.less;
+        return greater;
+    }
+
+    /**
+     * Merge
+     * Builds one treap out of left and right, where every value in left is smaller than every
+     * value in right. O(log n) expected. The nodes of left and right are moved into the result,
+     * so both are left empty.
+     */
+    public static <T extends Comparable<T>> Treap<T> merge(Treap<T> left, Treap<T> right) {
+        if (left == right) {
+            throw new IllegalArgumentException("Cannot merge a treap with itself");
+        }
+        if (left.root != null && right.root != null &&
+            left.getMax(left.root).value.compareTo(right.getMin(right.root).value) >= 0) {
+            throw new IllegalArgumentException("Values in left must be smaller than values in right");
+        }
+
+        Treap<T> result = new Treap<>(left.random.nextLong());
+        result.root = result.merge(left.root, right.root);
+        left.clear();
+        right.clear();
+        return result;
+    }
+}
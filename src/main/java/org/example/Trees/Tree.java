@@ -15,4 +15,26 @@ public interface Tree<T extends Comparable<T>> extends Serializable {
     String type();
     Color color();
     TreeNode<T> getRoot();
-}
\ No newline at end of file
+
+    /**
+     * True if reads such as contains change the tree's own state (a splay, hit counters, a page
+     * cache), so readers must not run alongside each other (see ConcurrentTree)
+     */
+    default boolean mutatingReads() {
+        return false;
+    }
+
+    /**
+     * Immutable snapshot of the current values, laid out for fast lookups (see FrozenTree)
+     */
+    default FrozenTree<T> freeze() {
+        return new FrozenTree<>(inorderTraversal());
+    }
+
+    /**
+     * This tree behind a counting Bloom filter that answers most misses without a lookup (see BloomFilteredTree)
+     */
+    default BloomFilteredTree<T> filtered() {
+        return new BloomFilteredTree<>(this);
+    }
+}
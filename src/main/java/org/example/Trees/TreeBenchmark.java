@@ -0,0 +1,892 @@
+package org.example.Trees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tree Benchmark
+ * Plain throughput harness for the tree implementations. Every scenario is warmed up
+ * and then timed over a fixed window, and results are printed as operations per millisecond.
+ *
+ * Run after a build with:
+ *   java --add-modules jdk.incubator.vector -cp target/classes org.example.Trees.TreeBenchmark
+ * (without the module flag the vector search scenario only measures the scalar fallback)
+ */
+public final class TreeBenchmark {
+    //
+    // Benchmark Setup
+    //
+
+    private static final int KEY_RANGE = 1 << 20;
+    private static final int PREFILL = 1 << 17;
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 1000;
+
+    private TreeBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        concurrentReads();
+        concurrentWrites();
+        batchInserts();
+        primitiveTrees();
+        bTreeFanout();
+        vectorSearch();
+        frozenLookups();
+        compressedSnapshots();
+        learnedLookups();
+        successorQueries();
+        radixLookups();
+        intervalQueries();
+        rangeAggregates();
+        skewedLookups();
+        nodeFootprints();
+        filteredMisses();
+    }
+
+    //
+    // Benchmark Scenarios
+    //
+
+    /**
+     * Concurrent Reads
+     * Mixed contains/insert/delete load on a red-black tree, once behind one global
+     * synchronized block and once behind ConcurrentTree, at read ratios from 90/10 to 99/1.
+     */
+    private static void concurrentReads() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("== Concurrent reads, red-black tree with " + PREFILL + " keys (ops/ms) ==");
+        System.out.printf("%-6s %-8s %14s %16s%n", "reads", "threads", "synchronized", "ConcurrentTree");
+
+        for (int readPercent : new int[]{90, 95, 99}) {
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                double locked = measure(prefilled(new RedBlackTree<>()), true, threads, readPercent);
+                double wrapped = measure(new ConcurrentTree<>(prefilled(new RedBlackTree<>())), false, threads, readPercent);
+                System.out.printf("%-6s %-8d %14.1f %16.1f%n", readPercent + "%", threads, locked, wrapped);
+            }
+        }
+    }
+
+    /**
+     * Concurrent Writes
+     * Write-heavy load (50/50 and 10/90 reads to writes) on structures that let writers
+     * run side by side, against the single-writer ConcurrentTree as the baseline.
+     */
+    private static void concurrentWrites() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("== Concurrent writes with " + PREFILL + " keys (ops/ms) ==");
+        System.out.printf("%-6s %-8s %16s %18s %10s%n", "reads", "threads", "ConcurrentTree", "ConcurrentTree24", "Skip List");
+
+        for (int readPercent : new int[]{50, 10}) {
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                double wrapped = measure(new ConcurrentTree<>(prefilled(new RedBlackTree<>())), false, threads, readPercent);
+                double blink = measure(prefilled(new ConcurrentTree24<>()), false, threads, readPercent);
+                double skipList = measure(prefilled(new ConcurrentSkipListTree<>()), false, threads, readPercent);
+                System.out.printf("%-6s %-8d %16.1f %18.1f %10.1f%n", readPercent + "%", threads, wrapped, blink, skipList);
+            }
+        }
+    }
+
+    /**
+     * Batch Inserts
+     * Time to add a batch of random keys to a prefilled tree, one insert at a time
+     * against a single insertAll call.
+     */
+    private static void batchInserts() {
+        System.out.println("== Batch inserts into " + PREFILL + " keys (ms) ==");
+        System.out.printf("%-10s %-8s %10s %10s%n", "tree", "batch", "insert", "insertAll");
+
+        for (int batchSize : new int[]{100_000, 1_000_000}) {
+            List<Integer> batch = new ArrayList<>(batchSize);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(random.nextInt());
+            }
+
+            // one warmup round, then the timed one
+            for (int round = 0; round < 2; round++) {
+                long avlLoop = timeLoop(prefilled(new AVLTree<>()), batch);
+                AVLTree<Integer> avl = (AVLTree<Integer>) prefilled(new AVLTree<>());
+                long avlBatch = time(() -> avl.insertAll(batch));
+                long rbtLoop = timeLoop(prefilled(new RedBlackTree<>()), batch);
+                RedBlackTree<Integer> rbt = (RedBlackTree<Integer>) prefilled(new RedBlackTree<>());
+                long rbtBatch = time(() -> rbt.insertAll(batch));
+                long t24Loop = timeLoop(prefilled(new Tree24<>()), batch);
+                Tree24<Integer> t24 = (Tree24<Integer>) prefilled(new Tree24<>());
+                long t24Batch = time(() -> t24.insertAll(batch));
+
+                if (round == 1) {
+                    System.out.printf("%-10s %-8d %10d %10d%n", "AVL", batchSize, avlLoop, avlBatch);
+                    System.out.printf("%-10s %-8d %10d %10d%n", "RBT", batchSize, rbtLoop, rbtBatch);
+                    System.out.printf("%-10s %-8d %10d %10d%n", "2-4 Tree", batchSize, t24Loop, t24Batch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Primitive Trees
+     * Heap held by each tree after inserting the same random int keys, and the
+     * time to look every key up again, boxed node trees against the array arenas.
+     */
+    private static void primitiveTrees() {
+        int count = 1 << 20;
+        int[] values = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("== " + count + " int keys ==");
+        System.out.printf("%-16s %12s %12s%n", "tree", "heap (MB)", "lookup (ms)");
+        // the off-heap tree's nodes are not on the heap at all, only its segment table is
+        List<Tree<Integer>> trees = List.of(new AVLTree<>(), new IntAVLTree(), new RedBlackTree<>(), new IntRedBlackTree(),
+                new OffHeapRedBlackTree());
+        for (Tree<Integer> tree : trees) {
+            long before = usedHeap();
+            for (int value : values) {
+                tree.insert(value);
+            }
+            long heap = usedHeap() - before;
+            long[] hits = new long[1];
+            long lookup = time(() -> {
+                for (int value : values) {
+                    if (tree.contains(value)) {
+                        hits[0]++;
+                    }
+                }
+            });
+            checkHits(tree.type(), count, hits[0]);
+            System.out.printf("%-16s %12.1f %12d%n", tree.type(), heap / (1024.0 * 1024.0), lookup);
+            tree.clear();
+            if (tree instanceof OffHeapRedBlackTree) {
+                ((OffHeapRedBlackTree) tree).close();
+            }
+        }
+    }
+
+    /**
+     * B-Tree Fan-out
+     * Insert, lookup and delete times for the same random keys at growing B-tree orders,
+     * order 4 being the 2-4 tree.
+     */
+    private static void bTreeFanout() {
+        int count = 1 << 20;
+        List<Integer> values = new ArrayList<>(count);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values.add(random.nextInt());
+        }
+
+        System.out.println("== B-tree fan-out, " + count + " keys (ms) ==");
+        System.out.printf("%-6s %-7s %10s %10s %10s%n", "order", "height", "insert", "lookup", "delete");
+        for (int order : new int[]{4, 16, 64, 128}) {
+            // one warmup round, then the timed one
+            for (int round = 0; round < 2; round++) {
+                BTree<Integer> tree = new BTree<>(order);
+                long insert = timeLoop(tree, values);
+                int height = tree.getHeight();
+                long[] hits = new long[1];
+                long lookup = time(() -> {
+                    for (Integer value : values) {
+                        if (tree.contains(value)) {
+                            hits[0]++;
+                        }
+                    }
+                });
+                checkHits("order " + order, count, hits[0]);
+                long delete = time(() -> values.forEach(tree::delete));
+                if (round == 1) {
+                    System.out.printf("%-6d %-7d %10d %10d %10d%n", order, height, insert, lookup, delete);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vector Search
+     * Lookup time per key in an IntBTree whose nodes are searched with a scalar binary
+     * search against the Vector API search, at fan-outs of 16 to 128.
+     */
+    private static void vectorSearch() {
+        int count = 1 << 20;
+        int[] values = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("== Int B-tree node search, " + count + " keys (ns per lookup) ==");
+        if (IntKeySearch.PREFERRED == IntKeySearch.SCALAR) {
+            System.out.println("jdk.incubator.vector not available, both columns are scalar");
+        }
+        System.out.printf("%-6s %10s %10s %8s%n", "order", "scalar", "vector", "gain");
+        for (int order : new int[]{16, 32, 64, 128}) {
+            IntBTree scalar = new IntBTree(order, IntKeySearch.SCALAR);
+            IntBTree vector = new IntBTree(order, IntKeySearch.PREFERRED);
+            for (int value : values) {
+                scalar.insert(value);
+                vector.insert(value);
+            }
+            // one warmup round, then the timed one
+            long scalarTime = 0;
+            long vectorTime = 0;
+            long[] hits = new long[2];
+            for (int round = 0; round < 2; round++) {
+                scalarTime = time(() -> {
+                    for (int value : values) {
+                        if (scalar.contains(value)) {
+                            hits[0]++;
+                        }
+                    }
+                });
+                vectorTime = time(() -> {
+                    for (int value : values) {
+                        if (vector.contains(value)) {
+                            hits[1]++;
+                        }
+                    }
+                });
+            }
+            checkHits("order " + order, 2L * count, hits[0], hits[1]);
+            double scalarNanos = scalarTime * 1e6 / count;
+            double vectorNanos = vectorTime * 1e6 / count;
+            System.out.printf("%-6d %10.1f %10.1f %7.2fx%n", order, scalarNanos, vectorNanos, scalarNanos / vectorNanos);
+        }
+    }
+
+    /**
+     * Frozen Lookups
+     * contains on pointer-based AVL and red-black trees against the Eytzinger snapshot
+     * their freeze() returns, looking up keys that are present and keys that are not.
+     */
+    private static void frozenLookups() {
+        int count = 1 << 20;
+        int[] values = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("== Frozen lookups, " + count + " keys (ns per lookup) ==");
+        System.out.printf("%-16s %10s %10s %8s%n", "tree", "live", "frozen", "gain");
+        for (Tree<Integer> tree : List.<Tree<Integer>>of(new AVLTree<>(), new RedBlackTree<>())) {
+            for (int value : values) {
+                tree.insert(value);
+            }
+            FrozenTree<Integer> frozen = tree.freeze();
+            // one warmup round, then the timed one
+            long liveTime = 0;
+            long frozenTime = 0;
+            long[] hits = new long[2];
+            for (int round = 0; round < 2; round++) {
+                liveTime = time(() -> {
+                    for (int value : values) {
+                        if (tree.contains(value)) {
+                            hits[0]++;
+                        }
+                        if (tree.contains(value ^ 1)) {
+                            hits[0]++;
+                        }
+                    }
+                });
+                frozenTime = time(() -> {
+                    for (int value : values) {
+                        if (frozen.contains(value)) {
+                            hits[1]++;
+                        }
+                        if (frozen.contains(value ^ 1)) {
+                            hits[1]++;
+                        }
+                    }
+                });
+            }
+            checkHits(tree.type(), hits[0], hits[1]);
+            double liveNanos = liveTime * 1e6 / (2.0 * count);
+            double frozenNanos = frozenTime * 1e6 / (2.0 * count);
+            System.out.printf("%-16s %10.1f %10.1f %7.2fx%n", tree.type(), liveNanos, frozenNanos, liveNanos / frozenNanos);
+        }
+    }
+
+    /**
+     * Compressed Snapshots
+     * Heap held by a red-black tree against a compressed snapshot of the same keys, with the
+     * time to look every key up in each, for sparse random keys and for dense ones.
+     */
+    private static void compressedSnapshots() {
+        int count = 1 << 20;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        System.out.println("== Compressed snapshots, " + count + " int keys ==");
+        System.out.printf("%-8s %-20s %12s %12s%n", "keys", "structure", "heap (MB)", "lookup (ms)");
+        for (String keys : new String[]{"random", "dense"}) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = keys.equals("random") ? random.nextInt() : random.nextInt(2 * count);
+            }
+            long before = usedHeap();
+            Tree<Integer> tree = new RedBlackTree<>();
+            for (int value : values) {
+                tree.insert(value);
+            }
+            long treeHeap = usedHeap() - before;
+            before = usedHeap();
+            CompressedIntSnapshot snapshot = CompressedIntSnapshot.snapshot(tree);
+            long snapshotHeap = usedHeap() - before;
+
+            for (Tree<Integer> structure : List.of(tree, snapshot)) {
+                long heap = structure == tree ? treeHeap : snapshotHeap;
+                long[] hits = new long[1];
+                long lookup = time(() -> {
+                    for (int value : values) {
+                        if (structure.contains(value)) {
+                            hits[0]++;
+                        }
+                    }
+                });
+                checkHits(structure.type(), count, hits[0]);
+                System.out.printf("%-8s %-20s %12.1f %12d%n", keys, structure.type(), heap / (1024.0 * 1024.0), lookup);
+            }
+        }
+    }
+
+    /**
+     * Learned Lookups
+     * contains on AVL and red-black trees against a learned index over the same keys, for
+     * uniform random keys and for a skewed (exponential) key distribution.
+     */
+    private static void learnedLookups() {
+        int count = 1 << 20;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        System.out.println("== Learned index, " + count + " int keys (ns per lookup) ==");
+        System.out.printf("%-12s %-16s %10s %10s%n", "keys", "structure", "lookup", "segments");
+        for (String keys : new String[]{"uniform", "exponential"}) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = keys.equals("uniform") ? random.nextInt() : (int) (-Math.log(1 - random.nextDouble()) * 1e8);
+            }
+            Tree<Integer> avl = new AVLTree<>();
+            Tree<Integer> rbt = new RedBlackTree<>();
+            for (int value : values) {
+                avl.insert(value);
+                rbt.insert(value);
+            }
+            LearnedIndexTree learned = LearnedIndexTree.of(rbt);
+
+            for (Tree<Integer> tree : List.of(avl, rbt, learned)) {
+                // one warmup round, then the timed one
+                long lookup = 0;
+                long[] hits = new long[1];
+                for (int round = 0; round < 2; round++) {
+                    lookup = time(() -> {
+                        for (int value : values) {
+                            if (tree.contains(value)) {
+                                hits[0]++;
+                            }
+                        }
+                    });
+                }
+                checkHits(tree.type(), 2L * count, hits[0]);
+                String segments = tree == learned ? String.valueOf(learned.segmentCount()) : "-";
+                System.out.printf("%-12s %-16s %10.1f %10s%n", keys, tree.type(), lookup * 1e6 / count, segments);
+            }
+        }
+    }
+
+    /**
+     * Successor Queries
+     * Next key after a random probe and contains on the same random keys: the van Emde Boas
+     * tree against java.util.TreeSet.higher, the frozen snapshot's ceiling and a red-black tree.
+     */
+    private static void successorQueries() {
+        int count = 1 << 20;
+        int[] values = new int[count];
+        int[] probes = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt();
+            probes[i] = random.nextInt(Integer.MAX_VALUE - 1);
+        }
+        VEBTree veb = new VEBTree();
+        java.util.TreeSet<Integer> treeSet = new java.util.TreeSet<>();
+        RedBlackTree<Integer> rbt = new RedBlackTree<>();
+        for (int value : values) {
+            veb.insert(value);
+            treeSet.add(value);
+            rbt.insert(value);
+        }
+        FrozenTree<Integer> frozen = veb.freeze();
+
+        System.out.println("== Successor queries, " + count + " int keys (ns per query) ==");
+        System.out.printf("%-22s %10s %10s%n", "structure", "successor", "contains");
+        // one warmup round, then the timed one
+        long[] times = new long[5];
+        // sums of the successors found, and counts of the keys found
+        long[] hits = new long[5];
+        for (int round = 0; round < 2; round++) {
+            times[0] = time(() -> {
+                for (int probe : probes) {
+                    Integer next = veb.successor(probe);
+                    hits[0] += next == null ? 0 : next;
+                }
+            });
+            times[1] = time(() -> {
+                for (int probe : probes) {
+                    Integer next = treeSet.higher(probe);
+                    hits[1] += next == null ? 0 : next;
+                }
+            });
+            times[2] = time(() -> {
+                for (int probe : probes) {
+                    Integer next = frozen.ceiling(probe + 1);
+                    hits[2] += next == null ? 0 : next;
+                }
+            });
+            times[3] = time(() -> {
+                for (int value : values) {
+                    if (veb.contains(value)) {
+                        hits[3]++;
+                    }
+                }
+            });
+            times[4] = time(() -> {
+                for (int value : values) {
+                    if (rbt.contains(value)) {
+                        hits[4]++;
+                    }
+                }
+            });
+        }
+        checkHits("successor", hits[0], hits[1], hits[2]);
+        checkHits("contains", hits[3], hits[4]);
+        System.out.printf("%-22s %10.1f %10.1f%n", veb.type(), times[0] * 1e6 / count, times[3] * 1e6 / count);
+        System.out.printf("%-22s %10.1f %10s%n", "TreeSet", times[1] * 1e6 / count, "-");
+        System.out.printf("%-22s %10.1f %10s%n", frozen.type(), times[2] * 1e6 / count, "-");
+        System.out.printf("%-22s %10s %10.1f%n", rbt.type(), "-", times[4] * 1e6 / count);
+    }
+
+    /**
+     * Radix Lookups
+     * contains on a red-black tree against the adaptive radix tree as the number of random
+     * keys grows: the comparison tree gets deeper, the radix tree stays at four bytes.
+     */
+    private static void radixLookups() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        System.out.println("== Radix lookups (ns per lookup) ==");
+        System.out.printf("%-10s %10s %10s %8s %8s%n", "keys", "RBT", "ART", "gain", "height");
+        for (int count : new int[]{1 << 16, 1 << 18, 1 << 20}) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt();
+            }
+            RedBlackTree<Integer> rbt = new RedBlackTree<>();
+            AdaptiveRadixTree art = new AdaptiveRadixTree();
+            for (int value : values) {
+                rbt.insert(value);
+                art.insert(value);
+            }
+            // a few rounds over the smaller sets so every timing is long enough to read
+            int rounds = (1 << 20) / count;
+            long rbtTime = 0;
+            long artTime = 0;
+            long[] hits = new long[2];
+            for (int warmup = 0; warmup < 2; warmup++) {
+                rbtTime = time(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int value : values) {
+                            if (rbt.contains(value)) {
+                                hits[0]++;
+                            }
+                        }
+                    }
+                });
+                artTime = time(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int value : values) {
+                            if (art.contains(value)) {
+                                hits[1]++;
+                            }
+                        }
+                    }
+                });
+            }
+            checkHits(count + " keys", hits[0], hits[1]);
+            double rbtNanos = rbtTime * 1e6 / (1 << 20);
+            double artNanos = artTime * 1e6 / (1 << 20);
+            System.out.printf("%-10d %10.1f %10.1f %7.2fx %8d%n", count, rbtNanos, artNanos, rbtNanos / artNanos, art.getHeight());
+        }
+    }
+
+    /**
+     * Interval Queries
+     * Point queries over short random time intervals: a scan of the red-black tree's in-order
+     * list against the interval tree's maxEnd pruned search.
+     */
+    private static void intervalQueries() {
+        int count = 1 << 18;
+        int queries = 1 << 10;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RedBlackTree<IntervalTree.Interval<Integer>> plain = new RedBlackTree<>();
+        IntervalTree<Integer> intervals = new IntervalTree<>();
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(KEY_RANGE);
+            IntervalTree.Interval<Integer> interval = new IntervalTree.Interval<>(start, start + random.nextInt(1000));
+            plain.insert(interval);
+            intervals.insert(interval);
+        }
+        int[] points = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            points[i] = random.nextInt(KEY_RANGE);
+        }
+
+        System.out.println("== Interval point queries, " + count + " intervals (us per query) ==");
+        long[] found = new long[2];
+        long scanTime = time(() -> {
+            for (int point : points) {
+                for (IntervalTree.Interval<Integer> interval : plain.inorderTraversal()) {
+                    if (interval.overlaps(point, point)) {
+                        found[0]++;
+                    }
+                }
+            }
+        });
+        long treeTime = time(() -> {
+            for (int point : points) {
+                found[1] += intervals.overlapping(point).size();
+            }
+        });
+        checkHits("interval", found);
+        System.out.printf("%-16s %12.1f%n", "scan", scanTime * 1e3 / queries);
+        System.out.printf("%-16s %12.1f%n", intervals.type(), treeTime * 1e3 / queries);
+        System.out.println("matches per query: " + found[1] / queries);
+    }
+
+    /**
+     * Range Aggregates
+     * Sums over random key ranges: filtering the red-black tree's in-order list against the
+     * subtree sums kept by the augmented AVL and red-black trees.
+     */
+    private static void rangeAggregates() {
+        int queries = 1 << 10;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RedBlackTree<Integer> plain = new RedBlackTree<>();
+        AugmentedAVLTree<Integer, Long> avl = new AugmentedAVLTree<>(Aggregate.sum());
+        AugmentedRedBlackTree<Integer, Long> rbt = new AugmentedRedBlackTree<>(Aggregate.sum());
+        // the same keys in all three, so every structure must come up with the same sums
+        for (int value : prefilled(plain).inorderTraversal()) {
+            avl.insert(value);
+            rbt.insert(value);
+        }
+        int[] bounds = new int[2 * queries];
+        for (int i = 0; i < queries; i++) {
+            bounds[2 * i] = random.nextInt(KEY_RANGE);
+            bounds[2 * i + 1] = bounds[2 * i] + random.nextInt(KEY_RANGE / 4);
+        }
+
+        System.out.println("== Range sums, " + PREFILL + " keys (us per query) ==");
+        long[] sums = new long[3];
+        long scanTime = time(() -> {
+            for (int i = 0; i < queries; i++) {
+                for (int value : plain.inorderTraversal()) {
+                    if (value >= bounds[2 * i] && value <= bounds[2 * i + 1]) {
+                        sums[0] += value;
+                    }
+                }
+            }
+        });
+        long avlTime = time(() -> {
+            for (int i = 0; i < queries; i++) {
+                sums[1] += avl.aggregate(bounds[2 * i], bounds[2 * i + 1]);
+            }
+        });
+        long rbtTime = time(() -> {
+            for (int i = 0; i < queries; i++) {
+                sums[2] += rbt.aggregate(bounds[2 * i], bounds[2 * i + 1]);
+            }
+        });
+        checkHits("range sum", sums);
+        System.out.printf("%-24s %12.2f%n", "scan", scanTime * 1e3 / queries);
+        System.out.printf("%-24s %12.2f%n", "Augmented AVL Tree", avlTime * 1e3 / queries);
+        System.out.printf("%-24s %12.2f%n", "Augmented RBT", rbtTime * 1e3 / queries);
+    }
+
+    /**
+     * Skewed Lookups
+     * contains on the AVL, red-black and splay trees over the same keys, with the lookups drawn
+     * uniformly and then from Zipf distributions of growing skew. The balanced trees cost the
+     * same whatever the trace, the splay tree keeps the hot keys near its root.
+     */
+    private static void skewedLookups() {
+        int lookups = 1 << 20;
+        AVLTree<Integer> avl = new AVLTree<>();
+        RedBlackTree<Integer> rbt = new RedBlackTree<>();
+        SplayTree<Integer> splay = new SplayTree<>();
+        List<Integer> keys = new ArrayList<>(prefilled(avl).inorderTraversal());
+        // rank order is unrelated to key order, so the hot keys are scattered over the tree
+        Collections.shuffle(keys);
+        for (int key : keys) {
+            rbt.insert(key);
+            splay.insert(key);
+        }
+        List<Tree<Integer>> trees = List.of(avl, rbt, splay);
+
+        System.out.println("== Skewed lookups, " + PREFILL + " keys (ns per lookup) ==");
+        System.out.printf("%-14s %10s %10s %10s%n", "trace", "AVL", "RBT", "Splay");
+        for (double skew : new double[]{0, 0.8, 1.0, 1.2}) {
+            int[] ranks = skew == 0 ? uniformRanks(keys.size(), lookups) : zipfRanks(keys.size(), skew, lookups);
+            Integer[] trace = new Integer[lookups];
+            for (int i = 0; i < lookups; i++) {
+                trace[i] = keys.get(ranks[i]);
+            }
+            StringBuilder row = new StringBuilder(String.format("%-14s", skew == 0 ? "uniform" : "zipf " + skew));
+            long[] hits = new long[trees.size()];
+            for (int t = 0; t < trees.size(); t++) {
+                Tree<Integer> tree = trees.get(t);
+                int column = t;
+                long elapsed = 0;
+                // one warmup round, then the timed one
+                for (int round = 0; round < 2; round++) {
+                    elapsed = time(() -> {
+                        for (Integer key : trace) {
+                            if (tree.contains(key)) {
+                                hits[column]++;
+                            }
+                        }
+                    });
+                }
+                row.append(String.format(" %10.1f", elapsed * 1e6 / lookups));
+            }
+            checkHits("skewed", hits);
+            System.out.println(row);
+        }
+    }
+
+    /**
+     * Node Footprints
+     * Heap held by each binary tree for the same boxed random keys (the boxes are made up front,
+     * so only nodes are counted), with the height reached and the time to look every key up.
+     * The scapegoat tree's nodes carry no balance data, its rebuilds keep it close to the others' height.
+     */
+    private static void nodeFootprints() {
+        int count = 1 << 20;
+        Integer[] values = new Integer[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("== Node footprints, " + count + " int keys ==");
+        System.out.printf("%-16s %14s %8s %12s%n", "tree", "bytes per key", "height", "lookup (ms)");
+        List<Tree<Integer>> trees = List.of(new BinarySearchTree<>(), new AVLTree<>(), new RedBlackTree<>(),
+                new ScapegoatTree<>());
+        for (Tree<Integer> tree : trees) {
+            long before = usedHeap();
+            for (Integer value : values) {
+                tree.insert(value);
+            }
+            double bytes = (usedHeap() - before) / (double) tree.size();
+            long[] hits = new long[1];
+            long lookup = time(() -> {
+                for (Integer value : values) {
+                    if (tree.contains(value)) {
+                        hits[0]++;
+                    }
+                }
+            });
+            checkHits(tree.type(), count, hits[0]);
+            System.out.printf("%-16s %14.1f %8d %12d%n", tree.type(), bytes, height(tree.getRoot()), lookup);
+            tree.clear();
+        }
+    }
+
+    /**
+     * Filtered Misses
+     * contains with nine lookups in ten for absent keys, on each tree as it is and behind a
+     * counting Bloom filter. The heap gains the most, its misses are a full scan.
+     */
+    private static void filteredMisses() {
+        int count = 1 << 14;
+        int lookups = 1 << 16;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // even keys are stored, odd keys always miss
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = 2 * random.nextInt(KEY_RANGE);
+        }
+        int[] trace = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            trace[i] = random.nextInt(10) == 0 ? values[random.nextInt(count)] : 2 * random.nextInt(KEY_RANGE) + 1;
+        }
+
+        System.out.println("== Filtered misses, " + count + " keys, 90% misses (ns per lookup) ==");
+        System.out.printf("%-16s %10s %10s %8s %10s%n", "tree", "plain", "filtered", "gain", "fp rate");
+        List<Tree<Integer>> trees = List.of(new AVLTree<>(), new RedBlackTree<>(), new Tree24<>(), new MinHeap<>());
+        for (Tree<Integer> tree : trees) {
+            for (int value : values) {
+                tree.insert(value);
+            }
+            BloomFilteredTree<Integer> filtered = tree.filtered();
+            long plainTime = 0;
+            long filteredTime = 0;
+            long[] hits = new long[2];
+            // one warmup round, then the timed one
+            for (int round = 0; round < 2; round++) {
+                plainTime = time(() -> {
+                    for (int key : trace) {
+                        if (tree.contains(key)) {
+                            hits[0]++;
+                        }
+                    }
+                });
+                filteredTime = time(() -> {
+                    for (int key : trace) {
+                        if (filtered.contains(key)) {
+                            hits[1]++;
+                        }
+                    }
+                });
+            }
+            checkHits(tree.type(), hits[0], hits[1]);
+            double plainNanos = plainTime * 1e6 / lookups;
+            double filteredNanos = filteredTime * 1e6 / lookups;
+            System.out.printf("%-16s %10.1f %10.1f %7.1fx %9.2f%%%n", tree.type(), plainNanos, filteredNanos,
+                    plainNanos / Math.max(filteredNanos, 1e-3), 100 * filtered.falsePositiveRate());
+        }
+    }
+
+    //
+    // Benchmark Helper Methods
+    //
+
+    private static Tree<Integer> prefilled(Tree<Integer> tree) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (tree.size() < PREFILL) {
+            tree.insert(random.nextInt(KEY_RANGE));
+        }
+        return tree;
+    }
+
+    // count indexes in [0, n), each equally likely
+    private static int[] uniformRanks(int n, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] ranks = new int[count];
+        for (int i = 0; i < count; i++) {
+            ranks[i] = random.nextInt(n);
+        }
+        return ranks;
+    }
+
+    // count indexes in [0, n), where index i is drawn with weight 1 / (i + 1)^skew
+    private static int[] zipfRanks(int n, double skew, int count) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] ranks = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            ranks[i] = Math.min(slot < 0 ? -slot - 1 : slot, n - 1);
+        }
+        return ranks;
+    }
+
+    private static long timeLoop(Tree<Integer> tree, List<Integer> batch) {
+        return time(() -> batch.forEach(tree::insert));
+    }
+
+    // Levels below and including node, the trees measured here stay shallow enough to recurse
+    private static int height(TreeNode<Integer> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.getLeft()), height(node.getRight()));
+    }
+
+    // Heap in use after a full collection, close enough to compare structures of the same size
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Wall clock milliseconds of one run of the action
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    // Timed lookups count what they find, so the JIT cannot drop them as dead code, and every structure must find the same
+    private static void checkHits(String what, long... hits) {
+        for (long found : hits) {
+            if (found != hits[0]) {
+                throw new IllegalStateException(what + " lookups disagree: " + Arrays.toString(hits));
+            }
+        }
+    }
+
+    // Warms up, then returns the throughput of the mixed workload over the measuring window
+    private static double measure(Tree<Integer> tree, boolean globalLock, int threads, int readPercent)
+            throws InterruptedException {
+        run(tree, globalLock, threads, readPercent, WARMUP_MILLIS);
+        return run(tree, globalLock, threads, readPercent, MEASURE_MILLIS) / (double) MEASURE_MILLIS;
+    }
+
+    private static long run(Tree<Integer> tree, boolean globalLock, int threads, int readPercent, long millis)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        LongAdder hits = new LongAdder();
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                long found = 0;
+                while ((done & 255) != 0 || System.nanoTime() < deadline) {
+                    int key = random.nextInt(KEY_RANGE);
+                    if (globalLock) {
+                        synchronized (tree) {
+                            found += step(tree, key, random, readPercent);
+                        }
+                    } else {
+                        found += step(tree, key, random, readPercent);
+                    }
+                    done++;
+                }
+                operations.add(done);
+                hits.add(found);
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // lookup results are summed so they cannot be dropped, and with the tree prefilled some must hit
+        if (readPercent > 0 && hits.sum() == 0) {
+            throw new IllegalStateException("No lookup found a key in " + tree.type());
+        }
+        return operations.sum();
+    }
+
+    // One operation: a lookup readPercent of the time, otherwise an insert or a delete; 1 if a lookup found its key
+    private static int step(Tree<Integer> tree, int key, ThreadLocalRandom random, int readPercent) {
+        if (random.nextInt(100) < readPercent) {
+            return tree.contains(key) ? 1 : 0;
+        } else if (random.nextBoolean()) {
+            tree.insert(key);
+        } else {
+            tree.delete(key);
+        }
+        return 0;
+    }
+}
@@ -5,4 +5,8 @@ public interface TreeNode<T> {
     TreeNode<T> getLeft();
     TreeNode<T> getRight();
     String getColor();
+    // extra text drawn beside the node, such as a treap priority
+    default String getAnnotation() {
+        return null;
+    }
 }
@@ -49,6 +49,12 @@ public class TreeVisualizerController {
         trees.put("Min Heap", new MinHeap<>());
         trees.put("Max Heap", new MaxHeap<>());
         trees.put("2-4 Tree", new Tree24<>());
+        trees.put("Skip List", new ConcurrentSkipListTree<>());
+        trees.put("van Emde Boas Tree", new VEBTree());
+        trees.put("Adaptive Radix Tree", new AdaptiveRadixTree());
+        trees.put("Splay Tree", new SplayTree<>());
+        trees.put("Treap", new Treap<>());
+        trees.put("Scapegoat Tree", new ScapegoatTree<>());
         currentTree = trees.get("Binary Search Tree");
     }
 
@@ -204,7 +210,13 @@ public class TreeVisualizerController {
 
         gc.fillOval(x - 15, y - 15, 40, 40);
         gc.setFill(Color.GHOSTWHITE);
-        gc.fillText(node.getValue().toString(), x - 10, y + 10);
+        // skip list head towers have no value of their own
+        String label = node.getValue() == null ? "H" : node.getValue().toString();
+        gc.fillText(label, x - 10, y + 10);
+        if (node.getAnnotation() != null) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(node.getAnnotation(), x + 28, y + 5);
+        }
 
         // Draw left subtree
         if (node.getLeft() != null) {
@@ -0,0 +1,444 @@
+package org.example.Trees;
+
+import javafx.scene.paint.Color;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * van Emde Boas Tree Implementation
+ * A set over the whole 32-bit int universe with O(log log U) insert, delete, contains,
+ * successor and predecessor: four levels of recursion whatever the number of keys.
+ *
+ * A universe of 2^bits values is split on the high half of the bits into 2^(bits/2) clusters,
+ * each a vEB tree over the low half, plus a summary vEB tree of the clusters that are not
+ * empty. Every level keeps its min (not stored further down) and max, so a query only ever
+ * recurses into one child. The usual cluster array is replaced by a hash map (ClusterMap) holding
+ * just the non-empty clusters, which keeps a sparse set of keys in O(n) space instead of O(U), and
+ * universes of 64 values or fewer are a single long bitmap.
+ *
+ * Keys are stored with the sign bit flipped so that unsigned order inside the tree matches
+ * signed int order.
+ */
+public class VEBTree implements Tree<Integer>, Serializable {
+    private static final int UNIVERSE_BITS = 32;
+    private static final int LEAF_BITS = 6;    // 64 values fit in one long
+    private static final long NONE = -1;       // no such key
+
+    private Universe root = new Cluster(UNIVERSE_BITS);
+    private int size;
+    private transient FrozenTree<Integer> drawn;  // snapshot behind getRoot, dropped on every change
+
+    /**
+     * A vEB tree over the values [0, 2^bits), all lookups answer NONE when there is no key
+     */
+    private interface Universe extends Serializable {
+        boolean isEmpty();
+        long min();
+        long max();
+        boolean contains(long x);
+        void insert(long x);   // x must not be present
+        void delete(long x);   // x must be present
+        long successor(long x);
+        long predecessor(long x);
+    }
+
+    private static Universe create(int bits) {
+        return bits <= LEAF_BITS ? new Leaf() : new Cluster(bits);
+    }
+
+    /**
+     * LEAF CLASS
+     * A universe of at most 64 values as a bitmap, every operation is a bit trick
+     */
+    private static final class Leaf implements Universe {
+        private long bits;
+
+        @Override
+        public boolean isEmpty() {
+            return bits == 0;
+        }
+
+        @Override
+        public long min() {
+            return bits == 0 ? NONE : Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        public long max() {
+            return bits == 0 ? NONE : 63 - Long.numberOfLeadingZeros(bits);
+        }
+
+        @Override
+        public boolean contains(long x) {
+            return (bits & (1L << x)) != 0;
+        }
+
+        @Override
+        public void insert(long x) {
+            bits |= 1L << x;
+        }
+
+        @Override
+        public void delete(long x) {
+            bits &= ~(1L << x);
+        }
+
+        @Override
+        public long successor(long x) {
+            long above = bits & (-2L << x);
+            return above == 0 ? NONE : Long.numberOfTrailingZeros(above);
+        }
+
+        @Override
+        public long predecessor(long x) {
+            long below = bits & ((1L << x) - 1);
+            return below == 0 ? NONE : 63 - Long.numberOfLeadingZeros(below);
+        }
+    }
+
+    /**
+     * CLUSTER MAP CLASS
+     * Open addressing hash map from a cluster's high bits to the cluster, no boxing on lookups.
+     * Kept at most half full, deletes shift later entries back instead of leaving tombstones.
+     */
+    private static final class ClusterMap implements Serializable {
+        private int[] keys = new int[4];
+        private Universe[] values = new Universe[4];
+        private int count;
+
+        // Top log2(capacity) bits of a multiplicative hash, so every slot can be a home slot
+        private int slot(int key) {
+            return (key * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(keys.length - 1);
+        }
+
+        Universe get(int key) {
+            for (int i = slot(key); values[i] != null; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(int key, Universe value) {
+            if (2 * (count + 1) > keys.length) {
+                resize(2 * keys.length);
+            }
+            int i = slot(key);
+            while (values[i] != null) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            keys[i] = key;
+            values[i] = value;
+            count++;
+        }
+
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != key || values[i] == null) {
+                i = (i + 1) & mask;
+            }
+            // move back any later entry of the run that can no longer be reached past the hole
+            for (int next = (i + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = slot(keys[next]);
+                if (((next - home) & mask) >= ((next - i) & mask)) {
+                    keys[i] = keys[next];
+                    values[i] = values[next];
+                    i = next;
+                }
+            }
+            values[i] = null;
+            count--;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            Universe[] oldValues = values;
+            keys = new int[capacity];
+            values = new Universe[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * CLUSTER CLASS
+     * min is kept only here, every other key lives in clusters.get(high(x)) at low(x)
+     */
+    private static final class Cluster implements Universe {
+        private final int lowBits;
+        private final int highBits;
+        private long min = NONE;
+        private long max = NONE;
+        private Universe summary;  // high halves of the non-empty clusters, created with the first one
+        private final ClusterMap clusters = new ClusterMap();
+
+        Cluster(int bits) {
+            this.lowBits = bits / 2;
+            this.highBits = bits - lowBits;
+        }
+
+        private int high(long x) {
+            return (int) (x >>> lowBits);
+        }
+
+        private long low(long x) {
+            return x & ((1L << lowBits) - 1);
+        }
+
+        private long index(long high, long low) {
+            return high << lowBits | low;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return min == NONE;
+        }
+
+        @Override
+        public long min() {
+            return min;
+        }
+
+        @Override
+        public long max() {
+            return max;
+        }
+
+        @Override
+        public boolean contains(long x) {
+            if (x == min || x == max) {
+                return true;
+            }
+            Universe cluster = clusters.get(high(x));
+            return cluster != null && cluster.contains(low(x));
+        }
+
+        @Override
+        public void insert(long x) {
+            if (min == NONE) {
+                min = max = x;
+                return;
+            }
+            // a smaller key becomes the new min and the old min goes down instead
+            if (x < min) {
+                long previous = min;
+                min = x;
+                x = previous;
+            }
+            if (x > max) {
+                max = x;
+            }
+            int high = high(x);
+            Universe cluster = clusters.get(high);
+            if (cluster == null) {
+                // the first key of a cluster is O(1), so only the summary insert recurses
+                cluster = create(lowBits);
+                clusters.put(high, cluster);
+                if (summary == null) {
+                    summary = create(highBits);
+                }
+                summary.insert(high);
+            }
+            cluster.insert(low(x));
+        }
+
+        @Override
+        public void delete(long x) {
+            if (min == max) {
+                min = max = NONE;
+                return;
+            }
+            // deleting the min pulls the smallest stored key up to take its place
+            if (x == min) {
+                long first = summary.min();
+                x = index(first, clusters.get((int) first).min());
+                min = x;
+            }
+            int high = high(x);
+            Universe cluster = clusters.get(high);
+            cluster.delete(low(x));
+            if (cluster.isEmpty()) {
+                clusters.remove(high);
+                summary.delete(high);
+                if (x == max) {
+                    long last = summary.max();
+                    max = last == NONE ? min : index(last, clusters.get((int) last).max());
+                }
+            } else if (x == max) {
+                max = index(high, cluster.max());
+            }
+        }
+
+        @Override
+        public long successor(long x) {
+            if (min != NONE && x < min) {
+                return min;
+            }
+            int high = high(x);
+            Universe cluster = clusters.get(high);
+            if (cluster != null && low(x) < cluster.max()) {
+                return index(high, cluster.successor(low(x)));
+            }
+            long next = summary == null ? NONE : summary.successor(high);
+            return next == NONE ? NONE : index(next, clusters.get((int) next).min());
+        }
+
+        @Override
+        public long predecessor(long x) {
+            if (max != NONE && x > max) {
+                return max;
+            }
+            int high = high(x);
+            Universe cluster = clusters.get(high);
+            if (cluster != null && low(x) > cluster.min()) {
+                return index(high, cluster.predecessor(low(x)));
+            }
+            long previous = summary == null ? NONE : summary.predecessor(high);
+            if (previous == NONE) {
+                // min is not in any cluster
+                return min != NONE && x > min ? min : NONE;
+            }
+            return index(previous, clusters.get((int) previous).max());
+        }
+    }
+
+    //
+    // van Emde Boas Tree Helper Methods
+    //
+
+    @Override
+    public String type() {
+        return "van Emde Boas Tree";
+    }
+
+    @Override
+    public Color color() {
+        return Color.CORAL;
+    }
+
+    // Signed int to its position in the unsigned universe, and back
+    private static long toKey(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static Integer toValue(long key) {
+        return key == NONE ? null : (int) key ^ Integer.MIN_VALUE;
+    }
+
+    //
+    // van Emde Boas Tree Operation Methods
+    //
+
+    /**
+     * Insert
+     */
+    public void insert(int value) {
+        long key = toKey(value);
+        // Value already exists, don't insert
+        if (root.contains(key)) {
+            return;
+        }
+        root.insert(key);
+        size++;
+        drawn = null;
+    }
+
+    @Override
+    public void insert(Integer value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null value");
+        }
+        insert(value.intValue());
+    }
+
+    /**
+     * Delete
+     */
+    public boolean delete(int value) {
+        long key = toKey(value);
+        if (!root.contains(key)) {
+            return false;
+        }
+        root.delete(key);
+        size--;
+        drawn = null;
+        return true;
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        return value != null && delete(value.intValue());
+    }
+
+    public boolean contains(int value) {
+        return root.contains(toKey(value));
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && contains(value.intValue());
+    }
+
+    /**
+     * Smallest value > value, or null if there is none
+     */
+    public Integer successor(int value) {
+        return toValue(root.successor(toKey(value)));
+    }
+
+    /**
+     * Largest value < value, or null if there is none
+     */
+    public Integer predecessor(int value) {
+        return toValue(root.predecessor(toKey(value)));
+    }
+
+    public Integer min() {
+        return toValue(root.min());
+    }
+
+    public Integer max() {
+        return toValue(root.max());
+    }
+
+    @Override
+    public void clear() {
+        root = new Cluster(UNIVERSE_BITS);
+        size = 0;
+        drawn = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        for (long key = root.min(); key != NONE; key = root.successor(key)) {
+            result.add(toValue(key));
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<Integer> getRoot() {
+        // clusters are not binary nodes, so the same keys are drawn as a balanced search tree,
+        // built once and reused by every redraw until the keys change
+        if (size == 0) {
+            return null;
+        }
+        if (drawn == null) {
+            drawn = freeze();
+        }
+        return drawn.getRoot();
+    }
+}
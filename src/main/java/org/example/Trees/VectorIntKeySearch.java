@@ -0,0 +1,32 @@
+package org.example.Trees;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD key search with the Vector API: one compare against the search key covers a whole
+ * vector of keys (8 ints with AVX2, 16 with AVX-512) and the lanes below it are counted.
+ * The keys are sorted, so the first vector that is not entirely below the key holds the
+ * answer. Only loaded through IntKeySearch.PREFERRED, when jdk.incubator.vector is present.
+ */
+final class VectorIntKeySearch implements IntKeySearch {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int lowerBound(int[] keys, int count, int key) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> below = IntVector.fromArray(SPECIES, keys, i).compare(VectorOperators.LT, key);
+            if (!below.allTrue()) {
+                return i + below.trueCount();
+            }
+        }
+        // fewer keys left than lanes
+        while (i < count && keys[i] < key) {
+            i++;
+        }
+        return i;
+    }
+}